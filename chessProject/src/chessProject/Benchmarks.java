@@ -0,0 +1,218 @@
+package chessProject;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+//A microbenchmark suite for the hot paths of the rules model: the legal moves of every piece, building a board, executing every
+//kind of move, making a move, the checkmate test and creating a move from two tiles. Every benchmark is run over a fixed corpus
+//of middlegame and endgame positions so that the numbers can be compared from one change to the next.
+//
+//The project has no build tool to pull in JMH, so the suite brings its own small harness instead: every benchmark is warmed up
+//before it is measured, and next to the time per operation it reports the bytes allocated per operation, which is the figure
+//the JMH gc profiler reports.
+//
+//Usage:
+//  Benchmarks [filter] [warmupMillis] [measureMillis]
+//the filter only runs the benchmarks whose name contains it
+public final class Benchmarks {
+
+    private static final long DEFAULT_WARMUP_MILLIS = 1000L;
+    private static final long DEFAULT_MEASURE_MILLIS = 2000L;
+
+    //the allocation counter of the current thread comes from the hotspot extension of the thread bean
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    //every result is folded into this field so the JIT cannot remove the work being measured
+    private static volatile long sink;
+
+    //a single operation of a benchmark, it returns a value that ends up in the sink
+    private interface Operation {
+        long invoke();
+    }
+
+    //Constructor for benchmarks, a runtime exception is used if the class is initiated.
+    private Benchmarks() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    public static void main(final String[] args) {
+        final String filter = args.length > 0 ? args[0] : "";
+        final long warmupMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_WARMUP_MILLIS;
+        final long measureMillis = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MEASURE_MILLIS;
+        final List<Board> corpus = createCorpus();
+        System.out.println(String.format("%-40s %12s %14s %12s", "benchmark", "ns/op", "ops/s", "B/op"));
+        for (final Map.Entry<String, List<Operation>> benchmark : createBenchmarks(corpus).entrySet()) {
+            if (benchmark.getKey().contains(filter)) {
+                runBenchmark(benchmark.getKey(), benchmark.getValue(), warmupMillis, measureMillis);
+            }
+        }
+    }
+
+    //the corpus of positions, the middlegames come from the reference positions and from opening lines played out move by move,
+    //the endgames are set up piece by piece
+    static List<Board> createCorpus() {
+        final List<Board> corpus = new ArrayList<>();
+        //middlegames
+        corpus.add(Perft.ReferencePosition.POSITION_6.createBoard());
+        //the italian game, white can take the d pawn en passant
+        corpus.add(playMoves("e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "f8c5", "c2c3", "g8f6", "d2d4", "e5d4", "e4e5", "d7d5"));
+        //the queen gives check on h5 and black has to block it
+        corpus.add(playMoves("e2e4", "f7f5", "d1h5"));
+        //endgames
+        corpus.add(Perft.ReferencePosition.POSITION_3.createBoard());
+        corpus.add(createPromotionEndgame());
+        corpus.add(createRookEndgame());
+        return corpus;
+    }
+
+    //plays a line of moves given as tile pairs such as e2e4 from the starting position
+    private static Board playMoves(final String... moves) {
+        Board board = Board.createStandardBoard();
+        for (final String move : moves) {
+            final MoveTransition transition = board.currentPlayer().makeMove(Move.MoveFactory.createMove(board,
+                    BoardUtils.getPositionAtCoordinate(move.substring(0, 2)),
+                    BoardUtils.getPositionAtCoordinate(move.substring(2, 4))));
+            if (!transition.getMoveStatus().isDone()) {
+                throw new RuntimeException("illegal move in benchmark corpus: " + move);
+            }
+            board = transition.getToBoard();
+        }
+        return board;
+    }
+
+    //white is about to promote on c8, either by pushing the pawn or by taking the knight on b8
+    private static Board createPromotionEndgame() {
+        return FenUtilities.createBoardFromFEN("1n2k3/2P5/8/8/8/8/3p4/R5K1 w - - 0 1");
+    }
+
+    //both sides only have their kings and rooks left on their starting tiles, so the castling moves can be set up here
+    private static Board createRookEndgame() {
+        return FenUtilities.createBoardFromFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+    }
+
+    //creates the operations of every benchmark, keyed by the benchmark name in the order they are run
+    private static Map<String, List<Operation>> createBenchmarks(final List<Board> corpus) {
+        final Map<String, List<Operation>> benchmarks = new LinkedHashMap<>();
+        //the legal moves of every piece type
+        for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            final List<Operation> operations = new ArrayList<>();
+            for (final Board board : corpus) {
+                for (final Piece piece : board.getAllPieces()) {
+                    if (piece.getPieceType() == pieceType) {
+                        operations.add(() -> piece.calculateLegalMoves(board).size());
+                    }
+                }
+            }
+            benchmarks.put("calculateLegalMoves." + piece(pieceType), operations);
+        }
+        //building a board from a builder
+        final List<Operation> buildOperations = new ArrayList<>();
+        for (final Board board : corpus) {
+            final Board.Builder builder = new Board.Builder();
+            board.getAllPieces().forEach(builder::setPiece);
+            builder.setMoveMaker(board.currentPlayer().getAlliance());
+            builder.setEnPassantPawn(board.getEnPassantPawn());
+            buildOperations.add(() -> builder.build().getAllPieces().size());
+        }
+        benchmarks.put("Board.build", buildOperations);
+        //executing every kind of move, grouped by the class of the move
+        final Map<String, List<Operation>> executeOperations = new LinkedHashMap<>();
+        for (final Board board : corpus) {
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                executeOperations.computeIfAbsent("Move.execute." + move.getClass().getSimpleName(), name -> new ArrayList<>())
+                                 .add(() -> move.execute().getAllPieces().size());
+            }
+        }
+        for (final Move move : createCastleMoves(corpus.get(corpus.size() - 1))) {
+            executeOperations.computeIfAbsent("Move.execute." + move.getClass().getSimpleName(), name -> new ArrayList<>())
+                             .add(() -> move.execute().getAllPieces().size());
+        }
+        benchmarks.putAll(executeOperations);
+        //making every legal move of the current player
+        final List<Operation> makeMoveOperations = new ArrayList<>();
+        for (final Board board : corpus) {
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                makeMoveOperations.add(() -> board.currentPlayer().makeMove(move).getMoveStatus().ordinal());
+            }
+        }
+        benchmarks.put("Player.makeMove", makeMoveOperations);
+        //the checkmate test is only expensive when the player is in check, so the boards are rebuilt to measure the full test
+        final List<Operation> checkMateOperations = new ArrayList<>();
+        for (final Board board : corpus) {
+            if (board.currentPlayer().isInCheck()) {
+                final Board.Builder builder = new Board.Builder();
+                board.getAllPieces().forEach(builder::setPiece);
+                builder.setMoveMaker(board.currentPlayer().getAlliance());
+                checkMateOperations.add(() -> builder.build().currentPlayer().isInCheckMate() ? 1 : 0);
+            }
+        }
+        benchmarks.put("Player.isInCheckMate", checkMateOperations);
+        //creating a move from the source and destination tiles of every legal move
+        final List<Operation> createMoveOperations = new ArrayList<>();
+        for (final Board board : corpus) {
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                final int currentCoordinate = move.getCurrentCoordinate();
+                final int destinationCoordinate = move.getDestinationCoordinate();
+                createMoveOperations.add(() -> Move.MoveFactory.createMove(board, currentCoordinate, destinationCoordinate)
+                                                               .getDestinationCoordinate());
+            }
+        }
+        benchmarks.put("MoveFactory.createMove", createMoveOperations);
+        return benchmarks;
+    }
+
+    //our move generation never creates castling moves, so they are set up by hand for the white king of the rook endgame
+    private static Collection<Move> createCastleMoves(final Board board) {
+        final List<Move> castleMoves = new ArrayList<>();
+        final King king = board.currentPlayer().getPlayerKing();
+        castleMoves.add(new Move.KingSideCastleMove(board, king, 62, (Rook) board.getTile(63).getPiece(), 63, 61));
+        castleMoves.add(new Move.QueenSideCastleMove(board, king, 58, (Rook) board.getTile(56).getPiece(), 56, 59));
+        return castleMoves;
+    }
+
+    //the name of a piece type such as Pawn
+    private static String piece(final Piece.PieceType pieceType) {
+        final String name = pieceType.name();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    //warms a benchmark up and then measures it, the operations are cycled through so every position of the corpus is measured
+    private static void runBenchmark(final String name,
+                                     final List<Operation> operations,
+                                     final long warmupMillis,
+                                     final long measureMillis) {
+        if (operations.isEmpty()) {
+            System.out.println(String.format("%-40s %12s", name, "no input"));
+            return;
+        }
+        final Operation[] operationArray = operations.toArray(new Operation[0]);
+        runFor(operationArray, warmupMillis);
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+        final long startTime = System.nanoTime();
+        final long invocations = runFor(operationArray, measureMillis);
+        final long elapsedTime = System.nanoTime() - startTime;
+        final long allocated = THREAD_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.println(String.format("%-40s %,12.1f %,14d %,12d", name, (double) elapsedTime / invocations,
+                invocations * 1_000_000_000L / elapsedTime, allocated / invocations));
+    }
+
+    //keeps cycling through the operations until the time is up and returns the number of operations invoked
+    private static long runFor(final Operation[] operations, final long millis) {
+        final long endTime = System.nanoTime() + millis * 1_000_000L;
+        long invocations = 0L;
+        long result = 0L;
+        do {
+            for (final Operation operation : operations) {
+                result += operation.invoke();
+            }
+            invocations += operations.length;
+        } while (System.nanoTime() < endTime);
+        sink = result;
+        return invocations;
+    }
+}
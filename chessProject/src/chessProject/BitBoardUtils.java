@@ -0,0 +1,152 @@
+package chessProject;
+
+import chessProject.Piece.PieceType;
+//A utility class used for the bitboard representation of the board. Each tile of the board is given one bit of a long,
+//tile 0 (a8) is the lowest bit and tile 63 (h1) is the highest bit, this is the same numbering the tiles already use
+public final class BitBoardUtils {
+
+    //there is one bitboard for every piece type of every side, the white bitboards come first followed by the black ones
+    public static final int NUM_PIECE_BITBOARDS = 12;
+
+    //the offsets a knight and a king can jump with, given as a row step and a column step
+    private static final int[][] KNIGHT_STEPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    //the tiles a knight, a king and a pawn of each side attack from every tile, worked out once when the class is loaded so a
+    //lookup never has to check the edges of the board
+    private static final long[] KNIGHT_ATTACKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] KING_ATTACKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] WHITE_PAWN_ATTACKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] BLACK_PAWN_ATTACKS = new long[BoardUtils.NUM_TILES];
+
+    //for every pair of tiles on the same row, column or diagonal, the tiles strictly between them and the whole line through
+    //both of them from edge to edge. Tiles that do not share a line give an empty bitboard
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    static {
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            KNIGHT_ATTACKS[tile] = calculateStepAttacks(tile, KNIGHT_STEPS);
+            KING_ATTACKS[tile] = calculateStepAttacks(tile, KING_STEPS);
+            WHITE_PAWN_ATTACKS[tile] = calculatePawnAttacks(tile, Alliance.WHITE);
+            BLACK_PAWN_ATTACKS[tile] = calculatePawnAttacks(tile, Alliance.BLACK);
+        }
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            final long fromMask = tileMask(from);
+            for (int to = 0; to < BoardUtils.NUM_TILES; to++) {
+                final long toMask = tileMask(to);
+                if (from == to) {
+                    continue;
+                }
+                if ((getRookAttacks(from, 0L) & toMask) != 0) {
+                    BETWEEN[from][to] = getRookAttacks(from, toMask) & getRookAttacks(to, fromMask);
+                    LINE[from][to] = (getRookAttacks(from, 0L) & getRookAttacks(to, 0L)) | fromMask | toMask;
+                } else if ((getBishopAttacks(from, 0L) & toMask) != 0) {
+                    BETWEEN[from][to] = getBishopAttacks(from, toMask) & getBishopAttacks(to, fromMask);
+                    LINE[from][to] = (getBishopAttacks(from, 0L) & getBishopAttacks(to, 0L)) | fromMask | toMask;
+                }
+            }
+        }
+    }
+
+    //Constructor for bitboard utils, a runtime exception is used if the class is initiated.
+    private BitBoardUtils() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //the index of the bitboard holding a piece type of a side
+    public static int getPieceIndex(final PieceType pieceType, final Alliance alliance) {
+        return alliance.isWhite() ? pieceType.ordinal() : pieceType.ordinal() + PieceType.values().length;
+    }
+
+    //the bitboard with only the bit of the given tile set
+    public static long tileMask(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    //checks whether the bit of a tile is set on a bitboard
+    public static boolean isTileSet(final long bitboard, final int tileCoordinate) {
+        return (bitboard & (1L << tileCoordinate)) != 0;
+    }
+
+    //the tiles a knight on the tile attacks
+    public static long getKnightAttacks(final int tileCoordinate) {
+        return KNIGHT_ATTACKS[tileCoordinate];
+    }
+
+    //the tiles a king on the tile attacks
+    public static long getKingAttacks(final int tileCoordinate) {
+        return KING_ATTACKS[tileCoordinate];
+    }
+
+    //the tiles a pawn of the given side on the tile attacks, a pawn attacks the two tiles diagonally in front of it
+    public static long getPawnAttacks(final int tileCoordinate, final Alliance alliance) {
+        return alliance.isWhite() ? WHITE_PAWN_ATTACKS[tileCoordinate] : BLACK_PAWN_ATTACKS[tileCoordinate];
+    }
+
+    //the tiles a rook on the tile attacks, every ray stops at the first occupied tile which is attacked as well
+    public static long getRookAttacks(final int tileCoordinate, final long allOccupancy) {
+        return MagicBitBoards.getRookAttacks(tileCoordinate, allOccupancy);
+    }
+
+    //the tiles a bishop on the tile attacks, every ray stops at the first occupied tile which is attacked as well
+    public static long getBishopAttacks(final int tileCoordinate, final long allOccupancy) {
+        return MagicBitBoards.getBishopAttacks(tileCoordinate, allOccupancy);
+    }
+
+    //the tiles strictly between two tiles that share a row, column or diagonal
+    public static long getBetween(final int fromTile, final int toTile) {
+        return BETWEEN[fromTile][toTile];
+    }
+
+    //the whole line through two tiles that share a row, column or diagonal, both tiles included
+    public static long getLine(final int fromTile, final int toTile) {
+        return LINE[fromTile][toTile];
+    }
+
+    //a function that checks whether a tile is attacked by any piece of the given side. Instead of generating every move of the
+    //attacking side, we look outwards from the tile like each kind of piece would and test the bitboards of that kind of piece,
+    //a pawn of the attacking side attacks the tile exactly when a pawn of the other side on the tile would attack the pawn
+    public static boolean isTileAttacked(final long[] pieceBitboards,
+                                         final long allOccupancy,
+                                         final int tileCoordinate,
+                                         final Alliance attackingAlliance) {
+        final Alliance defendingAlliance = attackingAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long bishopsAndQueens = pieceBitboards[getPieceIndex(PieceType.BISHOP, attackingAlliance)] |
+                                      pieceBitboards[getPieceIndex(PieceType.QUEEN, attackingAlliance)];
+        final long rooksAndQueens = pieceBitboards[getPieceIndex(PieceType.ROOK, attackingAlliance)] |
+                                    pieceBitboards[getPieceIndex(PieceType.QUEEN, attackingAlliance)];
+        return (getPawnAttacks(tileCoordinate, defendingAlliance) &
+                pieceBitboards[getPieceIndex(PieceType.PAWN, attackingAlliance)]) != 0 ||
+               (getKnightAttacks(tileCoordinate) & pieceBitboards[getPieceIndex(PieceType.KNIGHT, attackingAlliance)]) != 0 ||
+               (getKingAttacks(tileCoordinate) & pieceBitboards[getPieceIndex(PieceType.KING, attackingAlliance)]) != 0 ||
+               (bishopsAndQueens != 0 && (getBishopAttacks(tileCoordinate, allOccupancy) & bishopsAndQueens) != 0) ||
+               (rooksAndQueens != 0 && (getRookAttacks(tileCoordinate, allOccupancy) & rooksAndQueens) != 0);
+    }
+
+    //the bitboard with only the bit of a row and column set, rows and columns off the board give an empty bitboard
+    private static long getTileMask(final int row, final int column) {
+        if (row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW || column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW) {
+            return 0L;
+        }
+        return tileMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+    }
+
+    //the tiles a jumping piece on the tile reaches with one of its steps
+    private static long calculateStepAttacks(final int tileCoordinate, final int[][] steps) {
+        final int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW;
+        final int column = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW;
+        long attacks = 0L;
+        for (final int[] step : steps) {
+            attacks |= getTileMask(row + step[0], column + step[1]);
+        }
+        return attacks;
+    }
+
+    //the two tiles diagonally in front of a pawn of the given side
+    private static long calculatePawnAttacks(final int tileCoordinate, final Alliance alliance) {
+        final int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW + alliance.getDirection();
+        final int column = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW;
+        return getTileMask(row, column - 1) | getTileMask(row, column + 1);
+    }
+}
@@ -5,39 +5,111 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import chessProject.Board.Builder;
 //the board class used for the chessboard
 public class Board {
 	
 	//here we have a list of tiles that make up the game board, the white pieces and black pieces
-	//, the white and black player and the current player which is the player eligible to move
+	//and the side of the player eligible to move.
 	//there is also a check for the en passant pawn since there can only be one en passant pawn
 	//on the board at any given time.
     private final List<Tile> gameBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
-    private final WhitePlayer whitePlayer;
-    private final BlackPlayer blackPlayer;
-    private final Player currentPlayer;
+    private final Alliance nextMoveMaker;
     private final Pawn enPassantPawn;
+    //next to the tiles the board keeps a bitboard for every piece type of every side and the occupancy of each side,
+    //questions such as whether a tile is occupied or attacked are answered from these instead of walking the tiles
+    private final long[] pieceBitboards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final long allOccupancy;
+    //the players are only created once they are asked for, so a board that is only used to check whether a king is attacked
+    //never calculates the legal moves of either side
+    private WhitePlayer whitePlayer;
+    private BlackPlayer blackPlayer;
+    //the moves of both players and the pieces of both sides, put together the first time they are asked for. These fields
+    //and the ones of the players are read once into a local by their getters, so a thread that finds another thread making
+    //the same value at the same time returns the value it made itself and never a null it read the second time
+    private Collection<Move> allLegalMoves;
+    private Collection<Piece> allPieces;
+    //the castling rights of both kings in the bits the search board uses, and the zobrist key of the position
+    private final int castlingRights;
+    private final long zobristKey;
     
-    //the constructor for a chessboard using the builder class, the board, pieces and players are given their values here
+    //the constructor for a chessboard using the builder class, the board and pieces are given their values here
     private Board(final Builder builder){
         this.gameBoard=createGameBoard(builder);
+        this.pieceBitboards=createPieceBitboards(builder);
+        this.whiteOccupancy=calculateOccupancy(this.pieceBitboards, Alliance.WHITE);
+        this.blackOccupancy=calculateOccupancy(this.pieceBitboards, Alliance.BLACK);
+        this.allOccupancy=this.whiteOccupancy | this.blackOccupancy;
         this.whitePieces=calculateActivePieces(this.gameBoard, Alliance.WHITE);
         this.blackPieces=calculateActivePieces(this.gameBoard, Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardLegalMoves=calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves=calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        this.nextMoveMaker = builder.nextMoveMaker;
+        this.castlingRights = calculateCastlingRights();
+        //a board made by a move is given the key the move worked out from the key of the board before it, any other board
+        //works its key out from scratch
+        this.zobristKey = builder.isZobristKeySet ? builder.zobristKey :
+                Zobrist.calculateKey(this.pieceBitboards, this.nextMoveMaker, this.castlingRights, getEnPassantPawnTile());
+    }
+    
+    //two boards are equal when they have the same pieces on the same tiles, the same side to move, the same castling
+    //rights and the same en passant pawn, the zobrist key is compared first since different keys mean different positions
+    @Override
+    public boolean equals(final Object other){
+        if(this == other){
+            return true;
+        }
+        if(!(other instanceof Board)){
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey && this.nextMoveMaker == otherBoard.nextMoveMaker &&
+               this.castlingRights == otherBoard.castlingRights &&
+               Arrays.equals(this.pieceBitboards, otherBoard.pieceBitboards) &&
+               getEnPassantPawnTile() == otherBoard.getEnPassantPawnTile();
+    }
+    
+    //the hash code is taken from the zobrist key
+    @Override
+    public int hashCode(){
+        return (int) (this.zobristKey ^ (this.zobristKey >>> 32));
+    }
+    
+    //getter method for the zobrist key of the position
+    public long getZobristKey(){
+        return this.zobristKey;
+    }
+    
+    //getter method for the castling rights of both kings
+    public int getCastlingRights(){
+        return this.castlingRights;
+    }
+    
+    //the castling rights are read from the castle flags of both kings
+    private int calculateCastlingRights(){
+        int rights = 0;
+        final King whiteKing = findKing(Alliance.WHITE);
+        if(whiteKing != null){
+            rights |= whiteKing.isKingSideCastleCapable() ? SearchBoard.WHITE_KING_SIDE_CASTLE : 0;
+            rights |= whiteKing.isQueenSideCastleCapable() ? SearchBoard.WHITE_QUEEN_SIDE_CASTLE : 0;
+        }
+        final King blackKing = findKing(Alliance.BLACK);
+        if(blackKing != null){
+            rights |= blackKing.isKingSideCastleCapable() ? SearchBoard.BLACK_KING_SIDE_CASTLE : 0;
+            rights |= blackKing.isQueenSideCastleCapable() ? SearchBoard.BLACK_QUEEN_SIDE_CASTLE : 0;
+        }
+        return rights;
+    }
+    
+    //the king of a side found on the tile of its bitboard, null when the side has no king
+    private King findKing(final Alliance alliance){
+        final long kingBitboard = getPieceBitboard(Piece.PieceType.KING, alliance);
+        return kingBitboard != 0 ? (King) getTile(Long.numberOfTrailingZeros(kingBitboard)).getPiece() : null;
     }
     
     //the to string method used to generate a string output of the chessbard's starting position, since each tile
@@ -56,14 +128,24 @@ public class Board {
         return builder.toString();
     }
     
-    //getter method for the white player
+    //getter method for the white player, the player is created the first time it is asked for
     public Player whitePlayer(){
-        return this.whitePlayer;
+        WhitePlayer whitePlayer = this.whitePlayer;
+        if(whitePlayer == null){
+            whitePlayer = new WhitePlayer(this);
+            this.whitePlayer = whitePlayer;
+        }
+        return whitePlayer;
     }
     
-  //getter method for the black player
+  //getter method for the black player, the player is created the first time it is asked for
     public Player blackPlayer(){
-        return this.blackPlayer;
+        BlackPlayer blackPlayer = this.blackPlayer;
+        if(blackPlayer == null){
+            blackPlayer = new BlackPlayer(this);
+            this.blackPlayer = blackPlayer;
+        }
+        return blackPlayer;
     }
     
   //getter method for the current player
@@ -81,8 +163,9 @@ public class Board {
         return this.whitePieces;
     }
 
-    //a function where all of the pieces' legal moves are calculated here and added to a collection of all legal moves
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
+    //a function where all of the pieces' legal moves are calculated here and added to a collection of all legal moves,
+    //it is called by a player the first time its legal moves are asked for
+    Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
 
         final List<Move> legalMoves=new ArrayList<>();
         for(final Piece piece: pieces){
@@ -113,17 +196,68 @@ public class Board {
         return this.enPassantPawn;
     }
     
+    //the tile of the en passant pawn, -1 when there is none
+    public int getEnPassantPawnTile(){
+        return this.enPassantPawn != null ? this.enPassantPawn.getPiecePosition() : -1;
+    }
+    
     //getter method for a tile on the board
     public Tile getTile(final int tileCoordinate){
         return gameBoard.get(tileCoordinate);
     }
     
+    //getter method for the bitboard of a piece type of a side
+    public long getPieceBitboard(final Piece.PieceType pieceType, final Alliance alliance){
+        return this.pieceBitboards[BitBoardUtils.getPieceIndex(pieceType, alliance)];
+    }
+    
+    //getter method for the tiles occupied by a side
+    public long getOccupancy(final Alliance alliance){
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+    
+    //getter method for the tiles occupied by either side
+    public long getAllOccupancy(){
+        return this.allOccupancy;
+    }
+    
+    //checks whether a piece is on a tile using the occupancy bitboard
+    public boolean isTileOccupied(final int tileCoordinate){
+        return BitBoardUtils.isTileSet(this.allOccupancy, tileCoordinate);
+    }
+    
+    //checks whether a tile is attacked by any piece of the given side
+    public boolean isTileAttacked(final int tileCoordinate, final Alliance attackingAlliance){
+        return BitBoardUtils.isTileAttacked(this.pieceBitboards, this.allOccupancy, tileCoordinate, attackingAlliance);
+    }
+    
+    //the bitboards are filled from the same board configuration the tiles are created from
+    private static long[] createPieceBitboards(final Builder builder){
+        final long[] bitboards = new long[BitBoardUtils.NUM_PIECE_BITBOARDS];
+        for(final Piece piece : builder.boardConfig){
+            if(piece != null){
+                bitboards[BitBoardUtils.getPieceIndex(piece.getPieceType(), piece.getPieceAlliance())] |=
+                        BitBoardUtils.tileMask(piece.getPiecePosition());
+            }
+        }
+        return bitboards;
+    }
+    
+    //the occupancy of a side is every piece bitboard of that side combined
+    private static long calculateOccupancy(final long[] pieceBitboards, final Alliance alliance){
+        long occupancy = 0L;
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()){
+            occupancy |= pieceBitboards[BitBoardUtils.getPieceIndex(pieceType, alliance)];
+        }
+        return occupancy;
+    }
+    
     //this is the construction of the game board, the board is primed by first creating all the possible tiles within the
     //board numbered from 1 to 63.
     public static List<Tile> createGameBoard(Builder builder){
 		Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
 		for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
-			tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+			tiles[i] = Tile.createTile(i, builder.boardConfig[i]);
 		}
 		List<Tile> tilesList =  Arrays.asList(tiles);
 		return tilesList;
@@ -172,39 +306,71 @@ public class Board {
         return builder.build();
     }
     
-    //function used to get all legal moves from both players
+    //function used to get all legal moves from both players, the white moves come first. the list is built once per board
     public Collection<Move> getAllLegalMoves() {
-        return Stream.concat(this.whitePlayer.getLegalMoves().stream(),
-                             this.blackPlayer.getLegalMoves().stream()).collect(Collectors.toList());
+        Collection<Move> allLegalMoves = this.allLegalMoves;
+        if (allLegalMoves == null) {
+            final List<Move> moves = new ArrayList<>(whitePlayer().getLegalMoves().size() +
+                                                     blackPlayer().getLegalMoves().size());
+            moves.addAll(whitePlayer().getLegalMoves());
+            moves.addAll(blackPlayer().getLegalMoves());
+            allLegalMoves = Collections.unmodifiableList(moves);
+            this.allLegalMoves = allLegalMoves;
+        }
+        return allLegalMoves;
     }
     
-    //function used to get all black and white pieces on the board
+    //function used to get all black and white pieces on the board, the list is built once per board
     public Collection<Piece> getAllPieces() {
-        return Stream.concat(this.whitePieces.stream(),
-                             this.blackPieces.stream()).collect(Collectors.toList());
+        Collection<Piece> allPieces = this.allPieces;
+        if (allPieces == null) {
+            final List<Piece> pieces = new ArrayList<>(this.whitePieces.size() + this.blackPieces.size());
+            pieces.addAll(this.whitePieces);
+            pieces.addAll(this.blackPieces);
+            allPieces = Collections.unmodifiableList(pieces);
+            this.allPieces = allPieces;
+        }
+        return allPieces;
+    }
+    
+    //getter method for the status of the game from the side of the player to move, it is worked out once per board
+    public GameStatus getGameStatus() {
+        return currentPlayer().getGameStatus();
     }
     
     //getter method for the current player
     public Player getCurrentPlayer() {
-		return currentPlayer;
+		return this.nextMoveMaker.isWhite() ? whitePlayer() : blackPlayer();
 	}
     
     //the builder class used as the controller for the game
 	public static class Builder{
-		//certain things are set here such as the board config which is the configuration of a chess board,
-		//the current side that is eligible to move, the en passant pawn and the move that is going to be done
-        Map<Integer, Piece> boardConfig;
+		//certain things are set here such as the board config which is the configuration of a chess board, the piece on every
+		//tile or null for an empty tile, the current side that is eligible to move, the en passant pawn and the move that is
+		//going to be done. A builder can be reset and used again for the next board
+        final Piece[] boardConfig;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
         Move transitionMove;
+        long zobristKey;
+        boolean isZobristKeySet;
         //the constructor for the board
         public Builder(){
-            this.boardConfig=new HashMap<>();
-
+            this.boardConfig=new Piece[BoardUtils.NUM_TILES];
+        }
+        //empties the builder so the next board can be built with it, the board built before keeps its own copy of everything
+        public Builder reset(){
+            Arrays.fill(this.boardConfig, null);
+            this.nextMoveMaker=null;
+            this.enPassantPawn=null;
+            this.transitionMove=null;
+            this.zobristKey=0L;
+            this.isZobristKeySet=false;
+            return this;
         }
         //the function used to set a piece on the board
         public Builder setPiece(final Piece piece){
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()]=PieceUtils.intern(piece);
             return this;
         }
         //a function that determines whose turn it is to move
@@ -218,7 +384,13 @@ public class Board {
         }
         //the setter for the en passant pawn
         public void setEnPassantPawn(Pawn enPassantPawn){
-            this.enPassantPawn= enPassantPawn;
+            this.enPassantPawn= enPassantPawn == null ? null : (Pawn) PieceUtils.intern(enPassantPawn);
+        }
+        //the setter for the zobrist key, a move sets the key it has worked out for the board it creates
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.isZobristKeySet = true;
+            return this;
         }
         //the function that sets the move to transition the board
         public Builder setMoveTransition(final Move transitionMove) {
@@ -0,0 +1,197 @@
+package chessProject;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Point;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import javax.swing.JComponent;
+//A board drawn by a single component instead of a panel for every tile. The tiles, pieces and highlights are painted into
+//an image of the whole board that is kept between drawings, and paintComponent only copies that image to the screen.
+//
+//Every tile remembers what was painted on it, so when a new board is drawn only the tiles whose piece, highlight or
+//selection changed are painted again. Their squares are then sent to the screen one by one with paintImmediately, since
+//asking for a repaint of each square would have swing merge them into the one rectangle around all of them, and a move
+//from a1 to h8 would send the whole board. A move changes two tiles, or three or four for en passant and castling, so a
+//move sends about the same few squares to the screen however slow the connection to the screen is.
+public class BoardComponent extends JComponent {
+
+    private static final Color LIGHT_TILE_COLOR = Color.decode("#eeeed2");
+    private static final Color DARK_TILE_COLOR = Color.decode("#769656");
+    private static final Color SELECTED_TILE_COLOR = Color.decode("#f6f669");
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final int DEFAULT_TILE_SIZE = 50;
+    //the part of a tile a piece takes up
+    private static final double PIECE_SCALE = 0.96;
+    //what is painted on a tile is kept as a code, the piece in the lowest bits and the highlight and the selection above it
+    private static final int EMPTY_TILE = PIECE_TYPES.length * 2;
+    private static final int HIGHLIGHTED = 1 << 5;
+    private static final int SELECTED = 1 << 6;
+    private static final int NOT_PAINTED = -1;
+
+    private final int[] paintedTiles;
+    private final int[] tiles;
+    private BufferedImage boardImage;
+    private int tileSize;
+    private boolean isFlipped;
+
+    public BoardComponent() {
+        this.paintedTiles = new int[BoardUtils.NUM_TILES];
+        this.tiles = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(this.paintedTiles, NOT_PAINTED);
+        Arrays.fill(this.tiles, EMPTY_TILE);
+        setPreferredSize(new Dimension(BoardUtils.NUM_TILES_PER_ROW * DEFAULT_TILE_SIZE,
+                                       BoardUtils.NUM_TILES_PER_ROW * DEFAULT_TILE_SIZE));
+        setOpaque(true);
+    }
+
+    //draws a board, the selected tile is -1 when no tile is selected and the highlighted tiles are a bitboard of the tiles the
+    //selected piece can move to. only the tiles that look different from the last drawing are painted and sent to the screen,
+    //it is called on the event thread like every other drawing of the gui
+    public void drawBoard(final Board board,
+                          final boolean isFlipped,
+                          final int selectedTile,
+                          final long highlightedTiles) {
+        if (isFlipped != this.isFlipped) {
+            //every tile is in another place
+            this.isFlipped = isFlipped;
+            Arrays.fill(this.paintedTiles, NOT_PAINTED);
+        }
+        for (int tileId = 0; tileId < BoardUtils.NUM_TILES; tileId++) {
+            final Piece piece = board.getTile(tileId).getPiece();
+            int tile = piece == null ? EMPTY_TILE : getPieceCode(piece);
+            if ((highlightedTiles & (1L << tileId)) != 0) {
+                tile |= HIGHLIGHTED;
+            }
+            if (tileId == selectedTile) {
+                tile |= SELECTED;
+            }
+            this.tiles[tileId] = tile;
+        }
+        //the whole board is repainted at once when it was not painted yet or was flipped
+        if (this.boardImage == null || this.paintedTiles[0] == NOT_PAINTED) {
+            repaint();
+            return;
+        }
+        for (int tileId = 0; tileId < BoardUtils.NUM_TILES; tileId++) {
+            if (this.tiles[tileId] != this.paintedTiles[tileId]) {
+                paintTile(tileId);
+                paintImmediately(getTileX(tileId), getTileY(tileId), this.tileSize, this.tileSize);
+            }
+        }
+    }
+
+    //the tile at a point of the component, -1 when the point is not on the board
+    public int getTileAt(final Point point) {
+        if (this.tileSize == 0) {
+            return -1;
+        }
+        final int column = Math.floorDiv(point.x - getBoardX(), this.tileSize);
+        final int row = Math.floorDiv(point.y - getBoardY(), this.tileSize);
+        if (column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW || row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW) {
+            return -1;
+        }
+        final int tileId = row * BoardUtils.NUM_TILES_PER_ROW + column;
+        return this.isFlipped ? BoardUtils.NUM_TILES - 1 - tileId : tileId;
+    }
+
+    //copies the image of the board to the screen, the image is made again when the size of the component has changed
+    @Override
+    protected void paintComponent(final Graphics graphics) {
+        final int newTileSize = Math.max(1, Math.min(getWidth(), getHeight()) / BoardUtils.NUM_TILES_PER_ROW);
+        if (this.boardImage == null || newTileSize != this.tileSize) {
+            this.tileSize = newTileSize;
+            this.boardImage = createBoardImage(newTileSize * BoardUtils.NUM_TILES_PER_ROW);
+            Arrays.fill(this.paintedTiles, NOT_PAINTED);
+        }
+        for (int tileId = 0; tileId < BoardUtils.NUM_TILES; tileId++) {
+            if (this.tiles[tileId] != this.paintedTiles[tileId]) {
+                paintTile(tileId);
+            }
+        }
+        graphics.setColor(getBackground() != null ? getBackground() : Color.WHITE);
+        graphics.fillRect(0, 0, getWidth(), getHeight());
+        graphics.drawImage(this.boardImage, getBoardX(), getBoardY(), null);
+    }
+
+    //paints a tile into the image of the board
+    private void paintTile(final int tileId) {
+        final int tile = this.tiles[tileId];
+        final int x = getImageX(tileId);
+        final int y = getImageY(tileId);
+        final Graphics2D graphics = this.boardImage.createGraphics();
+        final boolean isLight = (tileId + tileId / BoardUtils.NUM_TILES_PER_ROW) % 2 == 0;
+        graphics.setColor(isLight ? LIGHT_TILE_COLOR : DARK_TILE_COLOR);
+        graphics.fillRect(x, y, this.tileSize, this.tileSize);
+        if ((tile & SELECTED) != 0) {
+            graphics.setColor(SELECTED_TILE_COLOR);
+            graphics.setStroke(new BasicStroke(Math.max(2, this.tileSize / 16)));
+            graphics.drawRect(x + 1, y + 1, this.tileSize - 3, this.tileSize - 3);
+        }
+        final int pieceCode = tile & (HIGHLIGHTED - 1);
+        if (pieceCode != EMPTY_TILE) {
+            drawCentered(graphics, SpriteCache.getPieceImage(getPiece(pieceCode), (int) (this.tileSize * PIECE_SCALE)), x, y);
+        }
+        if ((tile & HIGHLIGHTED) != 0) {
+            drawCentered(graphics, SpriteCache.getHighlightImage(Math.max(1, this.tileSize / 3)), x, y);
+        }
+        graphics.dispose();
+        this.paintedTiles[tileId] = tile;
+    }
+
+    private void drawCentered(final Graphics2D graphics, final BufferedImage image, final int x, final int y) {
+        graphics.drawImage(image, x + (this.tileSize - image.getWidth()) / 2, y + (this.tileSize - image.getHeight()) / 2, null);
+    }
+
+    private BufferedImage createBoardImage(final int size) {
+        final GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration != null) {
+            return configuration.createCompatibleImage(size, size, Transparency.OPAQUE);
+        }
+        return new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    }
+
+    //the board is kept in the middle of the component
+    private int getBoardX() {
+        return (getWidth() - this.tileSize * BoardUtils.NUM_TILES_PER_ROW) / 2;
+    }
+
+    private int getBoardY() {
+        return (getHeight() - this.tileSize * BoardUtils.NUM_TILES_PER_ROW) / 2;
+    }
+
+    //the place of a tile in the image of the board, a flipped board has the tiles the other way around
+    private int getImageX(final int tileId) {
+        final int shownTile = this.isFlipped ? BoardUtils.NUM_TILES - 1 - tileId : tileId;
+        return (shownTile % BoardUtils.NUM_TILES_PER_ROW) * this.tileSize;
+    }
+
+    private int getImageY(final int tileId) {
+        final int shownTile = this.isFlipped ? BoardUtils.NUM_TILES - 1 - tileId : tileId;
+        return (shownTile / BoardUtils.NUM_TILES_PER_ROW) * this.tileSize;
+    }
+
+    private int getTileX(final int tileId) {
+        return getBoardX() + getImageX(tileId);
+    }
+
+    private int getTileY(final int tileId) {
+        return getBoardY() + getImageY(tileId);
+    }
+
+    private static int getPieceCode(final Piece piece) {
+        return piece.getPieceType().ordinal() + (piece.getPieceAlliance().isWhite() ? 0 : PIECE_TYPES.length);
+    }
+
+    //any piece of the right type and side will do since only its image is used
+    private static Piece getPiece(final int pieceCode) {
+        final Alliance alliance = pieceCode < PIECE_TYPES.length ? Alliance.WHITE : Alliance.BLACK;
+        return PieceUtils.getPiece(PIECE_TYPES[pieceCode % PIECE_TYPES.length], alliance, 0, false);
+    }
+}
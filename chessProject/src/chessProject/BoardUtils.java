@@ -1,8 +1,5 @@
 package chessProject;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 //A utility class used to define parts of the board
 public class BoardUtils {
 	
@@ -33,11 +30,6 @@ public class BoardUtils {
     
     public static final String[] ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
     
-    //This function is then used to put a the notations into a hashmap indexed from 1 to 64 with its values assigned to their
-    //respective notations. We can then use the notations for developing our move history in the gui
-    
-    public static final Map <String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
-    
     //This variable describes the amount of tiles on a chessboard which is 64
     
     public static final int NUM_TILES = 64;
@@ -62,14 +54,6 @@ public class BoardUtils {
                 "a1", "b1", "c1", "d1", "e1", "f1", "g1", "h1"
         };
     }
-    //Function assigning the notations to the tiles using a hashmap
-    private static Map<String, Integer> initializePositionToCoordinateMap() {
-        final Map<String, Integer> positionToCoordinate = new HashMap<>();
-        for (int i = 0; i < NUM_TILES; i++){
-            positionToCoordinate.put(ALGEBRAIC_NOTATION[i], i);
-        }
-        return Collections.unmodifiableMap(positionToCoordinate);
-    }
     //function used to initialize a column
     private static boolean[] initColumn(int columnNumber){
         final boolean[] column = new boolean[NUM_TILES];
@@ -93,8 +77,17 @@ public class BoardUtils {
         return coordinate >=0 && coordinate <NUM_TILES;
     }
     //a function used to obtain the coordinate of a piece using the notation value
+	//the coordinate is worked out from the file letter and the rank number, the tiles are numbered from a8 to h1
 	public static int getPositionAtCoordinate(final String position) {
-		return POSITION_TO_COORDINATE.get(position);
+		if (position.length() != 2) {
+			throw new RuntimeException("Invalid position " + position + "!");
+		}
+		final int column = position.charAt(0) - 'a';
+		final int row = '8' - position.charAt(1);
+		if (column < 0 || column >= NUM_TILES_PER_ROW || row < 0 || row >= NUM_TILES_PER_ROW) {
+			throw new RuntimeException("Invalid position " + position + "!");
+		}
+		return row * NUM_TILES_PER_ROW + column;
 	}
 	//a function used to obtain the notation value using a coordinate
 	public static String getPositionAtCoordinate(final int coordinate) {
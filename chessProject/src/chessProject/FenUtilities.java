@@ -0,0 +1,311 @@
+package chessProject;
+
+import chessProject.Piece.PieceType;
+//A utility class that reads boards from the Forsyth-Edwards notation (FEN) and writes boards back to it. A FEN string such as
+//  rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1
+//gives the pieces rank by rank from the eighth rank down, the side to move, the castling rights, the tile behind a pawn that
+//has just jumped and two move counters. Our board has no move counters, so they are skipped when reading and written as 0 1.
+//
+//The things the notation does not have are worked out the way our boards expect them: a pawn on its starting rank and a
+//knight, bishop or queen on its starting tile still have their first move, a king or rook only has its first move when
+//a castling right says so, and the en passant pawn is the pawn in front of the en passant tile.
+//
+//Reading a FEN string walks it once character by character and takes every piece from the shared pieces of the piece utils,
+//so with a builder that is used again the only thing made is the board itself.
+public final class FenUtilities {
+
+    //the piece types on the back rank of the starting position, from the a file to the h file
+    private static final PieceType[] BACK_RANK = {PieceType.ROOK, PieceType.KNIGHT, PieceType.BISHOP, PieceType.QUEEN,
+                                                  PieceType.KING, PieceType.BISHOP, PieceType.KNIGHT, PieceType.ROOK};
+    private static final int WHITE_KING_TILE = 60;
+    private static final int BLACK_KING_TILE = 4;
+    private static final int WHITE_KING_SIDE_ROOK_TILE = 63;
+    private static final int WHITE_QUEEN_SIDE_ROOK_TILE = 56;
+    private static final int BLACK_KING_SIDE_ROOK_TILE = 7;
+    private static final int BLACK_QUEEN_SIDE_ROOK_TILE = 0;
+
+    //Constructor for fen utilities, a runtime exception is used if the class is initiated.
+    private FenUtilities() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //creates the board of a FEN string
+    public static Board createBoardFromFEN(final String fen) {
+        return createBoardFromFEN(fen, new Board.Builder());
+    }
+
+    //creates the board of a FEN string with the given builder, the builder is reset first so one builder can read any number
+    //of positions
+    public static Board createBoardFromFEN(final CharSequence fen, final Board.Builder builder) {
+        builder.reset();
+        int index = skipSpaces(fen, 0);
+        index = readPieces(fen, index, builder);
+        index = skipSpaces(fen, index);
+        if (index >= fen.length()) {
+            throw invalidFEN(fen, "the side to move is missing");
+        }
+        final char sideToMove = fen.charAt(index++);
+        if (sideToMove != 'w' && sideToMove != 'b') {
+            throw invalidFEN(fen, "the side to move has to be w or b");
+        }
+        final Alliance alliance = sideToMove == 'w' ? Alliance.WHITE : Alliance.BLACK;
+        builder.setMoveMaker(alliance);
+        index = skipSpaces(fen, index);
+        index = readCastlingRights(fen, index, builder);
+        index = skipSpaces(fen, index);
+        readEnPassantTile(fen, index, builder, alliance);
+        //the move counters are not kept by our board
+        return builder.build();
+    }
+
+    //writes the board as a FEN string, the move counters are always 0 1
+    public static String createFENFromBoard(final Board board) {
+        final StringBuilder fen = new StringBuilder(90);
+        for (int row = 0; row < BoardUtils.NUM_TILES_PER_ROW; row++) {
+            int emptyTiles = 0;
+            for (int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+                final Piece piece = board.getTile(row * BoardUtils.NUM_TILES_PER_ROW + column).getPiece();
+                if (piece == null) {
+                    emptyTiles++;
+                    continue;
+                }
+                if (emptyTiles > 0) {
+                    fen.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+                fen.append(getPieceCharacter(piece));
+            }
+            if (emptyTiles > 0) {
+                fen.append(emptyTiles);
+            }
+            if (row < BoardUtils.NUM_TILES_PER_ROW - 1) {
+                fen.append('/');
+            }
+        }
+        fen.append(board.currentPlayer().getAlliance().isWhite() ? " w " : " b ");
+        final int castlingRights = board.getCastlingRights();
+        if (castlingRights == 0) {
+            fen.append('-');
+        } else {
+            appendIf(fen, castlingRights, SearchBoard.WHITE_KING_SIDE_CASTLE, 'K');
+            appendIf(fen, castlingRights, SearchBoard.WHITE_QUEEN_SIDE_CASTLE, 'Q');
+            appendIf(fen, castlingRights, SearchBoard.BLACK_KING_SIDE_CASTLE, 'k');
+            appendIf(fen, castlingRights, SearchBoard.BLACK_QUEEN_SIDE_CASTLE, 'q');
+        }
+        fen.append(' ');
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn == null) {
+            fen.append('-');
+        } else {
+            //the en passant tile is the tile the pawn jumped over
+            fen.append(BoardUtils.getPositionAtCoordinate(enPassantPawn.getPiecePosition() -
+                    enPassantPawn.getPieceAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW));
+        }
+        return fen.append(" 0 1").toString();
+    }
+
+    //reads the pieces rank by rank and puts them in the builder, returns the index after the pieces
+    private static int readPieces(final CharSequence fen, final int startIndex, final Board.Builder builder) {
+        int index = startIndex;
+        int row = 0;
+        int column = 0;
+        while (index < fen.length() && fen.charAt(index) != ' ') {
+            final char character = fen.charAt(index++);
+            if (character == '/') {
+                if (column != BoardUtils.NUM_TILES_PER_ROW || ++row >= BoardUtils.NUM_TILES_PER_ROW) {
+                    throw invalidFEN(fen, "a rank does not have 8 tiles");
+                }
+                column = 0;
+                continue;
+            }
+            if (character >= '1' && character <= '8') {
+                column += character - '0';
+            } else {
+                final PieceType pieceType = getPieceType(character);
+                if (pieceType == null) {
+                    throw invalidFEN(fen, "unknown piece " + character);
+                }
+                if (column < BoardUtils.NUM_TILES_PER_ROW) {
+                    final int tile = row * BoardUtils.NUM_TILES_PER_ROW + column;
+                    final Alliance alliance = Character.isUpperCase(character) ? Alliance.WHITE : Alliance.BLACK;
+                    builder.setPiece(PieceUtils.getPiece(pieceType, alliance, tile, isOnStartingTile(pieceType, alliance, tile)));
+                }
+                column++;
+            }
+            if (column > BoardUtils.NUM_TILES_PER_ROW) {
+                throw invalidFEN(fen, "a rank has more than 8 tiles");
+            }
+        }
+        if (row != BoardUtils.NUM_TILES_PER_ROW - 1 || column != BoardUtils.NUM_TILES_PER_ROW) {
+            throw invalidFEN(fen, "the pieces do not cover 64 tiles");
+        }
+        return index;
+    }
+
+    //reads the castling rights and gives the kings their castle flags, the rooks in the corners of a right get their first move.
+    //the flags live on the king just like on our boards, so a right is only left out when the king is not on its starting tile.
+    //returns the index after the castling rights
+    private static int readCastlingRights(final CharSequence fen, final int startIndex, final Board.Builder builder) {
+        int index = startIndex;
+        boolean whiteKingSide = false;
+        boolean whiteQueenSide = false;
+        boolean blackKingSide = false;
+        boolean blackQueenSide = false;
+        if (index < fen.length() && fen.charAt(index) == '-') {
+            index++;
+        } else {
+            while (index < fen.length() && fen.charAt(index) != ' ') {
+                switch (fen.charAt(index++)) {
+                    case 'K':
+                        whiteKingSide = true;
+                        break;
+                    case 'Q':
+                        whiteQueenSide = true;
+                        break;
+                    case 'k':
+                        blackKingSide = true;
+                        break;
+                    case 'q':
+                        blackQueenSide = true;
+                        break;
+                    default:
+                        throw invalidFEN(fen, "unknown castling right " + fen.charAt(index - 1));
+                }
+            }
+        }
+        setCastlingRights(builder, Alliance.WHITE, WHITE_KING_TILE, WHITE_KING_SIDE_ROOK_TILE, WHITE_QUEEN_SIDE_ROOK_TILE,
+                whiteKingSide, whiteQueenSide);
+        setCastlingRights(builder, Alliance.BLACK, BLACK_KING_TILE, BLACK_KING_SIDE_ROOK_TILE, BLACK_QUEEN_SIDE_ROOK_TILE,
+                blackKingSide, blackQueenSide);
+        return index;
+    }
+
+    private static void setCastlingRights(final Board.Builder builder,
+                                          final Alliance alliance,
+                                          final int kingTile,
+                                          final int kingSideRookTile,
+                                          final int queenSideRookTile,
+                                          final boolean kingSide,
+                                          final boolean queenSide) {
+        if (!isPieceOnTile(builder, PieceType.KING, alliance, kingTile)) {
+            return;
+        }
+        builder.setPiece(PieceUtils.getKing(alliance, kingTile, kingSide || queenSide, false, kingSide, queenSide));
+        if (kingSide && isPieceOnTile(builder, PieceType.ROOK, alliance, kingSideRookTile)) {
+            builder.setPiece(PieceUtils.getRook(alliance, kingSideRookTile, true));
+        }
+        if (queenSide && isPieceOnTile(builder, PieceType.ROOK, alliance, queenSideRookTile)) {
+            builder.setPiece(PieceUtils.getRook(alliance, queenSideRookTile, true));
+        }
+    }
+
+    //reads the en passant tile and sets the pawn in front of it as the en passant pawn, the tile is left out when there is no
+    //such pawn of the side that has just moved
+    private static void readEnPassantTile(final CharSequence fen,
+                                          final int index,
+                                          final Board.Builder builder,
+                                          final Alliance sideToMove) {
+        if (index >= fen.length() || fen.charAt(index) == '-') {
+            return;
+        }
+        if (index + 1 >= fen.length()) {
+            throw invalidFEN(fen, "the en passant tile is not complete");
+        }
+        final int column = fen.charAt(index) - 'a';
+        final int row = '8' - fen.charAt(index + 1);
+        if (column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW || row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW) {
+            throw invalidFEN(fen, "the en passant tile is not on the board");
+        }
+        //the pawn that jumped is one tile further in the direction the side to move plays away from
+        final int pawnTile = row * BoardUtils.NUM_TILES_PER_ROW + column -
+                             sideToMove.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        final Alliance pawnAlliance = sideToMove.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        if (BoardUtils.isValidTileCoordinate(pawnTile) && isPieceOnTile(builder, PieceType.PAWN, pawnAlliance, pawnTile)) {
+            builder.setEnPassantPawn((Pawn) builder.boardConfig[pawnTile]);
+        }
+    }
+
+    //a pawn on its starting rank and any other piece on its tile of the starting position still has its first move, kings and
+    //rooks are decided by the castling rights later
+    private static boolean isOnStartingTile(final PieceType pieceType, final Alliance alliance, final int tile) {
+        if (pieceType == PieceType.PAWN) {
+            return alliance.isWhite() ? BoardUtils.SECOND_RANK[tile] : BoardUtils.SEVENTH_RANK[tile];
+        }
+        if (pieceType.isKing() || pieceType.isRook()) {
+            return false;
+        }
+        final boolean isOnBackRank = alliance.isWhite() ? BoardUtils.FIRST_RANK[tile] : BoardUtils.EIGHTH_RANK[tile];
+        return isOnBackRank && BACK_RANK[tile % BoardUtils.NUM_TILES_PER_ROW] == pieceType;
+    }
+
+    private static boolean isPieceOnTile(final Board.Builder builder,
+                                         final PieceType pieceType,
+                                         final Alliance alliance,
+                                         final int tile) {
+        final Piece piece = builder.boardConfig[tile];
+        return piece != null && piece.getPieceType() == pieceType && piece.getPieceAlliance() == alliance;
+    }
+
+    private static PieceType getPieceType(final char character) {
+        switch (Character.toLowerCase(character)) {
+            case 'p':
+                return PieceType.PAWN;
+            case 'n':
+                return PieceType.KNIGHT;
+            case 'b':
+                return PieceType.BISHOP;
+            case 'r':
+                return PieceType.ROOK;
+            case 'q':
+                return PieceType.QUEEN;
+            case 'k':
+                return PieceType.KING;
+            default:
+                return null;
+        }
+    }
+
+    //the FEN letter of a piece, our pieces call the knight H so the letters are not taken from the pieces
+    private static char getPieceCharacter(final Piece piece) {
+        final char character;
+        switch (piece.getPieceType()) {
+            case PAWN:
+                character = 'p';
+                break;
+            case KNIGHT:
+                character = 'n';
+                break;
+            case BISHOP:
+                character = 'b';
+                break;
+            case ROOK:
+                character = 'r';
+                break;
+            case QUEEN:
+                character = 'q';
+                break;
+            default:
+                character = 'k';
+                break;
+        }
+        return piece.getPieceAlliance().isWhite() ? Character.toUpperCase(character) : character;
+    }
+
+    private static void appendIf(final StringBuilder fen, final int castlingRights, final int castlingRight, final char character) {
+        if ((castlingRights & castlingRight) != 0) {
+            fen.append(character);
+        }
+    }
+
+    private static int skipSpaces(final CharSequence fen, final int startIndex) {
+        int index = startIndex;
+        while (index < fen.length() && fen.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static RuntimeException invalidFEN(final CharSequence fen, final String reason) {
+        return new RuntimeException("Invalid FEN " + fen + ": " + reason + "!");
+    }
+}
@@ -0,0 +1,142 @@
+package chessProject;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.SwingUtilities;
+
+import chessProject.engine.ParallelSearch;
+import chessProject.engine.SearchResult;
+//Plays the moves of a game on a background thread so the event thread only draws. The moves the user makes are checked and
+//made here, the moves of the computer are searched here, and every move that was made is handed to the listener on the event
+//thread together with the board it led to. The end of the game is worked out before a board is handed over, so the checks for
+//checkmate and stalemate on the event thread only read the stored result.
+//
+//The work runs on a single thread one task at a time. Every time the user acts a new task is started and the task before it
+//is cancelled, a search that is running is stopped and the moves of a cancelled task are never handed to the listener, even
+//when they are already waiting on the event thread. The user only moves for the sides the computer does not play, the gui
+//asks isComputerTurn before it hands a move over.
+public final class GameController {
+
+    private final ParallelSearch searchEngine;
+    private final MoveListener moveListener;
+    private final ExecutorService executor;
+    //the number of the newest task, a task only hands over its moves while it is still the newest one
+    private final AtomicLong currentTask;
+    //the last task that was started, only used on the event thread
+    private Future<?> runningTask;
+    private volatile boolean computerPlaysWhite;
+    private volatile boolean computerPlaysBlack;
+
+    public GameController(final ParallelSearch searchEngine, final MoveListener moveListener) {
+        this.searchEngine = searchEngine;
+        this.moveListener = moveListener;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "game-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.currentTask = new AtomicLong();
+        this.computerPlaysWhite = false;
+        this.computerPlaysBlack = false;
+    }
+
+    //setter methods for the sides the computer plays, they take effect with the next task
+    public void setComputerPlaysWhite(final boolean computerPlaysWhite) {
+        this.computerPlaysWhite = computerPlaysWhite;
+    }
+
+    public void setComputerPlaysBlack(final boolean computerPlaysBlack) {
+        this.computerPlaysBlack = computerPlaysBlack;
+    }
+
+    //checks whether the computer plays the side that has to move on the board and the game is not over yet
+    public boolean isComputerTurn(final Board board) {
+        final boolean isWhiteToMove = board.currentPlayer().getAlliance().isWhite();
+        return (isWhiteToMove ? this.computerPlaysWhite : this.computerPlaysBlack) && !board.getGameStatus().isGameOver();
+    }
+
+    //makes the move of the user from one tile to another on the board, a move that can not be made is dropped. The computer
+    //answers the move when it plays the other side
+    public void makeMove(final Board board, final int currentCoordinate, final int destinationCoordinate) {
+        submit(taskId -> {
+            final Move move = Move.MoveFactory.createMove(board, currentCoordinate, destinationCoordinate);
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone() && publishMove(taskId, move, transition.getToBoard())) {
+                makeComputerMoves(taskId, transition.getToBoard());
+            }
+        });
+    }
+
+    //lets the computer play the board for as long as it is the computer's turn
+    public void makeComputerMoves(final Board board) {
+        submit(taskId -> makeComputerMoves(taskId, board));
+    }
+
+    //cancels the task that is running or waiting, used when the board is replaced by the user. A waiting task never starts
+    //and a running one stops at its next check, a search included since it asks whether its task is still the newest one.
+    //the thread is not interrupted since a search that is interrupted while it stops its helpers would leave them running
+    public void cancel() {
+        this.currentTask.incrementAndGet();
+        if (this.runningTask != null) {
+            this.runningTask.cancel(false);
+            this.runningTask = null;
+        }
+    }
+
+    private void submit(final Task task) {
+        cancel();
+        final long taskId = this.currentTask.get();
+        this.runningTask = this.executor.submit(() -> task.run(taskId));
+    }
+
+    private void makeComputerMoves(final long taskId, final Board startBoard) {
+        Board board = startBoard;
+        while (isCurrentTask(taskId) && isComputerTurn(board)) {
+            final SearchResult searchResult = this.searchEngine.search(board, () -> !isCurrentTask(taskId));
+            //a search that was stopped because the task was cancelled has no move worth playing
+            if (!isCurrentTask(taskId)) {
+                return;
+            }
+            final Move move = searchResult.getBestMove();
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone() || !publishMove(taskId, move, transition.getToBoard())) {
+                return;
+            }
+            board = transition.getToBoard();
+        }
+    }
+
+    //hands a move and its board to the listener on the event thread, it returns false when the task was cancelled
+    private boolean publishMove(final long taskId, final Move move, final Board toBoard) {
+        //the end of the game is found here rather than on the event thread
+        toBoard.getGameStatus();
+        if (!isCurrentTask(taskId)) {
+            return false;
+        }
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if (isCurrentTask(taskId)) {
+                    moveListener.moveMade(move, toBoard);
+                }
+            }
+        });
+        return true;
+    }
+
+    private boolean isCurrentTask(final long taskId) {
+        return this.currentTask.get() == taskId;
+    }
+
+    //the listener that is told about every move that was made, it is always called on the event thread
+    public interface MoveListener {
+        void moveMade(Move move, Board toBoard);
+    }
+
+    private interface Task {
+        void run(long taskId);
+    }
+}
@@ -13,6 +13,9 @@ class GameHistoryPanel extends JPanel {
 	//the dimensions and scroll pane are defined here
     private final DataModel model;
     private final JScrollPane scrollPane;
+    //the number of moves of the move log in the table and the last of them
+    private int shownMoves;
+    private Move lastShownMove;
     private static final Dimension HISTORY_PANEL_DIMENSION = new Dimension(100, 40);
     
     //the constructor for the panel, the panel is drawn out as a table that scrolls as more moves are made.
@@ -27,56 +30,38 @@ class GameHistoryPanel extends JPanel {
         this.add(scrollPane, BorderLayout.CENTER);
         this.setVisible(true);
     }
-    //the function used to check for moves and what moves have been performed by either player
-    void redo(final Board board,
-              final MoveLog moveHistory) {
-        int currentRow = 0;
-        this.model.clear();
-        //after checking the moves in the move history, it separates the black and white moves by setting different values 
-        //for the data model
-        for (final Move move : moveHistory.getMoves()) {
-            final String moveText = move.toString();
-            //if the move made was made by a white piece it is given the 0 value
-            if (move.getMovedPiece().getPieceAlliance().isWhite()) {
-                this.model.setValueAt(moveText, currentRow, 0);
+    //the function used to show the moves that have been performed by either player. only the moves added to the move log since
+    //the last time are added to the table, with the notation the move log worked out when they were made. when the moves
+    //shown are not the start of the move log any more, like after a game was loaded, the table is filled again all at once
+    void redo(final MoveLog moveHistory) {
+        final List<Move> moves = moveHistory.getMoves();
+        if (this.shownMoves > moves.size() ||
+            (this.shownMoves > 0 && moves.get(this.shownMoves - 1) != this.lastShownMove)) {
+            this.model.clear();
+            this.shownMoves = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                this.model.addMove(moveHistory.getNotation(i), moves.get(i).getMovedPiece().getPieceAlliance().isWhite(), false);
             }
-            //if the move made was made by a white piece it is given the 0 value
-            else if (move.getMovedPiece().getPieceAlliance().isBlack()) {
-                this.model.setValueAt(moveText, currentRow, 1);
-                currentRow++;
+            this.model.fireTableDataChanged();
+        } else {
+            for (int i = this.shownMoves; i < moves.size(); i++) {
+                this.model.addMove(moveHistory.getNotation(i), moves.get(i).getMovedPiece().getPieceAlliance().isWhite(), true);
             }
         }
-        //if the move history contains any number of moves that is not 0, it takes the last made move and then convers it to a string
-        if(moveHistory.getMoves().size() > 0) {
-            final Move lastMove = moveHistory.getMoves().get(moveHistory.size() - 1);
-            final String moveText = lastMove.toString();
-            //if the last move was made by a white piece, the text for that move is set and it is checked to see whether
-            //that move was a normal move or a check or a checkmate and is then drawn on to the table
-            if (lastMove.getMovedPiece().getPieceAlliance().isWhite()) {
-                this.model.setValueAt(moveText + calculateCheckAndCheckMateHash(board), currentRow, 0);
-            }
-          //if the last move was made by a black piece, the text for that move is set and it is checked to see whether
-            //that move was a normal move or a check or a checkmate and is then drawn on to the table
-            else if (lastMove.getMovedPiece().getPieceAlliance().isBlack()) {
-                this.model.setValueAt(moveText + calculateCheckAndCheckMateHash(board), currentRow - 1, 1);
-            }
+        if (this.shownMoves != moves.size()) {
+            this.shownMoves = moves.size();
+            this.lastShownMove = moves.isEmpty() ? null : moves.get(moves.size() - 1);
+            //the last row is scrolled to once the table knows about it
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    final JScrollBar vertical = scrollPane.getVerticalScrollBar();
+                    vertical.setValue(vertical.getMaximum());
+                }
+            });
         }
-
-        final JScrollBar vertical = scrollPane.getVerticalScrollBar();
-        vertical.setValue(vertical.getMaximum());
-
     }
     
-    //here the move history will make a special symbol to signify if a certain move is a check/checkmate or a normal move
-    //a normal move will have no symbol while a checkmate will have a # symbol and a check will have + symbol
-    private static String calculateCheckAndCheckMateHash(final Board board) {
-        if(board.currentPlayer().isInCheckMate()) {
-            return "#";
-        } else if(board.currentPlayer().isInCheck()) {
-            return "+";
-        }
-        return "";
-    }
     //here a row class is used for white and black moves
     private static class Row {
 
@@ -117,6 +102,28 @@ class GameHistoryPanel extends JPanel {
             this.values.clear();
             setRowCount(0);
         }
+        //adds the notation of a move, a white move starts a new row and a black move goes next to the white move before it.
+        //the table is only told about the change when it asks for it, a table filled all at once is told once at the end
+        void addMove(final String notation, final boolean isWhiteMove, final boolean fireEvents) {
+            final int lastRow = this.values.size() - 1;
+            if (!isWhiteMove && lastRow >= 0 && this.values.get(lastRow).getBlackMove() == null) {
+                this.values.get(lastRow).setBlackMove(notation);
+                if (fireEvents) {
+                    fireTableCellUpdated(lastRow, 1);
+                }
+                return;
+            }
+            final Row row = new Row();
+            if (isWhiteMove) {
+                row.setWhiteMove(notation);
+            } else {
+                row.setBlackMove(notation);
+            }
+            this.values.add(row);
+            if (fireEvents) {
+                fireTableRowsInserted(lastRow + 1, lastRow + 1);
+            }
+        }
         //function that counts the number of rows
         @Override
         public int getRowCount() {
@@ -0,0 +1,53 @@
+package chessProject;
+//an enum used for the status of the game from the side of the player to move, the status of a board is worked out once and
+//kept by the player so the gui can ask for it as often as it likes
+public enum GameStatus {
+	//the player to move is not in check and has a move to make
+    IN_PROGRESS {
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+        @Override
+        public boolean isInCheck() {
+            return false;
+        }
+    },
+    //the king of the player to move is attacked but the player has a move that keeps it safe
+    CHECK {
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+        @Override
+        public boolean isInCheck() {
+            return true;
+        }
+    },
+    //the king of the player to move is attacked and no move keeps it safe, the player has lost
+    CHECKMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+        @Override
+        public boolean isInCheck() {
+            return true;
+        }
+    },
+    //the king of the player to move is not attacked but the player has no move to make, the game is a draw
+    STALEMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+        @Override
+        public boolean isInCheck() {
+            return false;
+        }
+    };
+	//the abstract method that checks whether the game has ended
+    public abstract boolean isGameOver();
+	//the abstract method that checks whether the king of the player to move is attacked
+    public abstract boolean isInCheck();
+}
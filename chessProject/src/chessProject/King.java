@@ -1,13 +1,8 @@
 package chessProject;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 //This is the code for the king piece
 public final class King extends Piece {
-	//These are the coordinate offsets calculated for a king using our one dimensional approach
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -9, -8, -7, -1, 1, 7, 8, 9 };
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -52,35 +47,9 @@ public final class King extends Piece {
     }
   //This the code to calculate the legal moves for a king
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES){
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            //If the king is on a valid tile and once the illegal moves have been excluded, the moves can be calculated
-            if (isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)){
-                continue;
-            }
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-            	//Assuming that no tile occupies the tile that the king is going to be at, a normal move is added to the 
-            	//legal moves array list
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if (!candidateDestinationTile.isTileOccupied()){
-                    legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
-                }else{
-                	//Here a calculation is made to check whether the tile that the king is attacking, has a piece of the opposite
-                	//color. If so, an attacking move towards that piece is added to the legal moves array list
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                    if (this.pieceAlliance != pieceAlliance){
-                        legalMoves.add(new Move.MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                    }
-                }
-            }
-        }
-      //Once the moves have been collected they are returned as an immutable list of moves 
-        return Collections.unmodifiableList(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board) {
+    	//The tiles a king steps to are looked up in the king attack table
+        return calculateMoves(board, BitBoardUtils.getKingAttacks(this.piecePosition));
     }
   //An overridden method describing the toString() method for a King
     @Override
@@ -92,7 +61,8 @@ public final class King extends Piece {
   //An overridden method describing the movement of a King
     @Override
     public King movePiece(final Move move) {
-        return new King(this.pieceAlliance, move.getDestinationCoordinate(), false, move.isCastlingMove(), false, false);
+        return PieceUtils.getKing(this.pieceAlliance, move.getDestinationCoordinate(), false, move.isCastlingMove(),
+                false, false);
     }
 
     @Override
@@ -115,12 +85,4 @@ public final class King extends Piece {
     public int hashCode() {
         return (31 * super.hashCode()) + (isCastled ? 1 : 0);
     }
-  //A King has some edge cases regarding the first column and on the eight, the following offsets are invalid
-    //because they would cause the piece to move off the board and onto a wrong position.
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset){
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -9 || candidateOffset == -1 || candidateOffset == 7);
-    }
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset){
-        return BoardUtils.EIGHTH_COLUMN[currentPosition] && (candidateOffset == -7 || candidateOffset == 1 || candidateOffset == 9);
-    }
-}
\ No newline at end of file
+}
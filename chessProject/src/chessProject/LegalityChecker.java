@@ -0,0 +1,141 @@
+package chessProject;
+
+import chessProject.Piece.PieceType;
+//A class that decides whether a move of a player leaves the king of the player in check without making the move. When the
+//checker is created it looks at the board once from the king outwards and works out the opponent pieces that give check and
+//the pieces of the player that are pinned to the king, after that every move is decided with a few bitboard tests:
+//  - the king may go to any tile the opponent does not attack once the king has left its tile
+//  - in double check nothing but the king may move
+//  - in single check the move has to take the checking piece or step between it and the king
+//  - a pinned piece may only move along the line between the king and the piece pinning it
+//An en passant capture takes two pieces off the same row at once, which can uncover the king in a way a pin does not show, so
+//it is decided by looking from the king at the board as it would be after the capture.
+public final class LegalityChecker {
+
+    private final Board board;
+    private final Alliance alliance;
+    private final Alliance opponentAlliance;
+    private final int kingTile;
+    private final long checkers;
+    private final long pinnedPieces;
+
+    LegalityChecker(final Board board, final Alliance alliance) {
+        this.board = board;
+        this.alliance = alliance;
+        this.opponentAlliance = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        this.kingTile = Long.numberOfTrailingZeros(board.getPieceBitboard(PieceType.KING, alliance));
+        this.checkers = calculateCheckers();
+        this.pinnedPieces = calculatePinnedPieces();
+    }
+
+    //getter method for the opponent pieces that give check
+    public long getCheckers() {
+        return this.checkers;
+    }
+
+    //getter method for the pieces of the player that can not leave the line between them and the king
+    public long getPinnedPieces() {
+        return this.pinnedPieces;
+    }
+
+    //checks whether the move leaves the king of the player safe, the move has to be one of the moves the pieces of the player can make
+    public boolean isLegal(final Move move) {
+        final int currentCoordinate = move.getCurrentCoordinate();
+        final int destinationCoordinate = move.getDestinationCoordinate();
+        if (move.getMovedPiece().getPieceType().isKing()) {
+            if (move.isCastlingMove()) {
+                return isCastleLegal(destinationCoordinate);
+            }
+            //the king is taken off the board first, so a slider checking the king also attacks the tile behind the king
+            return !isTileAttacked(destinationCoordinate, this.board.getAllOccupancy() & ~BitBoardUtils.tileMask(this.kingTile));
+        }
+        if (move instanceof Move.PawnEnPassantAttackMove) {
+            return isEnPassantLegal(currentCoordinate, destinationCoordinate, move.getAttackedPiece().getPiecePosition());
+        }
+        //in double check only the king can move
+        if (Long.bitCount(this.checkers) > 1) {
+            return false;
+        }
+        if (this.checkers != 0) {
+            final int checkerTile = Long.numberOfTrailingZeros(this.checkers);
+            final long blockingTiles = this.checkers | BitBoardUtils.getBetween(this.kingTile, checkerTile);
+            if (!BitBoardUtils.isTileSet(blockingTiles, destinationCoordinate)) {
+                return false;
+            }
+        }
+        return !BitBoardUtils.isTileSet(this.pinnedPieces, currentCoordinate) ||
+               BitBoardUtils.isTileSet(BitBoardUtils.getLine(this.kingTile, currentCoordinate), destinationCoordinate);
+    }
+
+    //the opponent pieces that attack the king, found by looking from the king like each kind of piece would
+    private long calculateCheckers() {
+        final long allOccupancy = this.board.getAllOccupancy();
+        return (BitBoardUtils.getPawnAttacks(this.kingTile, this.alliance) & getOpponentPieces(PieceType.PAWN)) |
+               (BitBoardUtils.getKnightAttacks(this.kingTile) & getOpponentPieces(PieceType.KNIGHT)) |
+               (BitBoardUtils.getBishopAttacks(this.kingTile, allOccupancy) & getOpponentDiagonalSliders()) |
+               (BitBoardUtils.getRookAttacks(this.kingTile, allOccupancy) & getOpponentStraightSliders());
+    }
+
+    //a piece of the player is pinned when it is the only piece between the king and an opponent slider that moves along the
+    //line between them
+    private long calculatePinnedPieces() {
+        final long allOccupancy = this.board.getAllOccupancy();
+        final long ownOccupancy = this.board.getOccupancy(this.alliance);
+        final long pinners = (BitBoardUtils.getBishopAttacks(this.kingTile, 0L) & getOpponentDiagonalSliders()) |
+                             (BitBoardUtils.getRookAttacks(this.kingTile, 0L) & getOpponentStraightSliders());
+        long pinnedPieces = 0L;
+        for (long remaining = pinners; remaining != 0; remaining &= remaining - 1) {
+            final long blockers = BitBoardUtils.getBetween(this.kingTile, Long.numberOfTrailingZeros(remaining)) & allOccupancy;
+            if (Long.bitCount(blockers) == 1 && (blockers & ownOccupancy) != 0) {
+                pinnedPieces |= blockers;
+            }
+        }
+        return pinnedPieces;
+    }
+
+    //the king may not castle out of check or through or into an attacked tile
+    private boolean isCastleLegal(final int destinationCoordinate) {
+        if (this.checkers != 0) {
+            return false;
+        }
+        final long path = BitBoardUtils.getBetween(this.kingTile, destinationCoordinate) | BitBoardUtils.tileMask(destinationCoordinate);
+        for (long remaining = path; remaining != 0; remaining &= remaining - 1) {
+            if (isTileAttacked(Long.numberOfTrailingZeros(remaining), this.board.getAllOccupancy())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //looks from the king at the board as it is after the capture, the captured pawn gone and our pawn on its new tile
+    private boolean isEnPassantLegal(final int currentCoordinate, final int destinationCoordinate, final int capturedTile) {
+        final long capturedMask = BitBoardUtils.tileMask(capturedTile);
+        final long occupancy = (this.board.getAllOccupancy() & ~BitBoardUtils.tileMask(currentCoordinate) & ~capturedMask) |
+                               BitBoardUtils.tileMask(destinationCoordinate);
+        return (BitBoardUtils.getPawnAttacks(this.kingTile, this.alliance) & getOpponentPieces(PieceType.PAWN) & ~capturedMask) == 0 &&
+               (BitBoardUtils.getKnightAttacks(this.kingTile) & getOpponentPieces(PieceType.KNIGHT)) == 0 &&
+               (BitBoardUtils.getBishopAttacks(this.kingTile, occupancy) & getOpponentDiagonalSliders()) == 0 &&
+               (BitBoardUtils.getRookAttacks(this.kingTile, occupancy) & getOpponentStraightSliders()) == 0;
+    }
+
+    //checks whether the opponent attacks a tile with the given occupancy of the board
+    private boolean isTileAttacked(final int tileCoordinate, final long occupancy) {
+        return (BitBoardUtils.getPawnAttacks(tileCoordinate, this.alliance) & getOpponentPieces(PieceType.PAWN)) != 0 ||
+               (BitBoardUtils.getKnightAttacks(tileCoordinate) & getOpponentPieces(PieceType.KNIGHT)) != 0 ||
+               (BitBoardUtils.getKingAttacks(tileCoordinate) & getOpponentPieces(PieceType.KING)) != 0 ||
+               (BitBoardUtils.getBishopAttacks(tileCoordinate, occupancy) & getOpponentDiagonalSliders()) != 0 ||
+               (BitBoardUtils.getRookAttacks(tileCoordinate, occupancy) & getOpponentStraightSliders()) != 0;
+    }
+
+    private long getOpponentPieces(final PieceType pieceType) {
+        return this.board.getPieceBitboard(pieceType, this.opponentAlliance);
+    }
+
+    private long getOpponentDiagonalSliders() {
+        return getOpponentPieces(PieceType.BISHOP) | getOpponentPieces(PieceType.QUEEN);
+    }
+
+    private long getOpponentStraightSliders() {
+        return getOpponentPieces(PieceType.ROOK) | getOpponentPieces(PieceType.QUEEN);
+    }
+}
@@ -0,0 +1,145 @@
+package chessProject;
+
+import java.util.Arrays;
+import java.util.Random;
+//A utility class with the attacks of the sliding pieces as magic bitboards. The tiles a rook or a bishop attacks only depend on
+//the pieces standing on its rays, so for every tile the attacks for every possible set of pieces on the rays are worked out once
+//at startup and kept in a table. To find the entry of a set of pieces, the pieces on the rays are multiplied with a magic number
+//of the tile and the top bits of the product are used as the index. A magic number is any number that never sends two sets of
+//pieces with different attacks to the same index, they are found at startup by trying random numbers with few bits set. The
+//random numbers come from a fixed seed so the same magic numbers are found every time the program is run.
+//
+//A lookup is one mask, one multiplication, one shift and one array read, there is no looping over tiles and no checking of the
+//edges of the board. The class does not use the bitboard utils class since the tables of that class are filled from this one.
+public final class MagicBitBoards {
+
+    private static final long SEED = 0x3A61_C0DE_2020L;
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    //for every tile the tiles whose pieces change the attacks, which are the tiles of the rays without the last tile of each ray
+    //since a piece on the edge of the board does not block anything behind it
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] ROOK_MAGICS = new long[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_MAGICS = new long[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+    //the attacks of every tile for every set of pieces, indexed by the magic index
+    private static final long[][] ROOK_ATTACKS = new long[BoardUtils.NUM_TILES][];
+    private static final long[][] BISHOP_ATTACKS = new long[BoardUtils.NUM_TILES][];
+
+    static {
+        final Random random = new Random(SEED);
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            ROOK_MASKS[tile] = calculateRelevantTiles(tile, ROOK_DIRECTIONS);
+            BISHOP_MASKS[tile] = calculateRelevantTiles(tile, BISHOP_DIRECTIONS);
+            ROOK_SHIFTS[tile] = Long.SIZE - Long.bitCount(ROOK_MASKS[tile]);
+            BISHOP_SHIFTS[tile] = Long.SIZE - Long.bitCount(BISHOP_MASKS[tile]);
+            ROOK_ATTACKS[tile] = new long[1 << Long.bitCount(ROOK_MASKS[tile])];
+            BISHOP_ATTACKS[tile] = new long[1 << Long.bitCount(BISHOP_MASKS[tile])];
+            ROOK_MAGICS[tile] = findMagic(tile, ROOK_MASKS[tile], ROOK_SHIFTS[tile], ROOK_DIRECTIONS, ROOK_ATTACKS[tile], random);
+            BISHOP_MAGICS[tile] = findMagic(tile, BISHOP_MASKS[tile], BISHOP_SHIFTS[tile], BISHOP_DIRECTIONS,
+                    BISHOP_ATTACKS[tile], random);
+        }
+    }
+
+    //Constructor for magic bitboards, a runtime exception is used if the class is initiated.
+    private MagicBitBoards() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //the tiles a rook on the tile attacks, every ray stops at the first occupied tile which is attacked as well
+    public static long getRookAttacks(final int tileCoordinate, final long allOccupancy) {
+        final long relevantPieces = allOccupancy & ROOK_MASKS[tileCoordinate];
+        return ROOK_ATTACKS[tileCoordinate][(int) ((relevantPieces * ROOK_MAGICS[tileCoordinate]) >>> ROOK_SHIFTS[tileCoordinate])];
+    }
+
+    //the tiles a bishop on the tile attacks, every ray stops at the first occupied tile which is attacked as well
+    public static long getBishopAttacks(final int tileCoordinate, final long allOccupancy) {
+        final long relevantPieces = allOccupancy & BISHOP_MASKS[tileCoordinate];
+        return BISHOP_ATTACKS[tileCoordinate][(int) ((relevantPieces * BISHOP_MAGICS[tileCoordinate]) >>>
+                BISHOP_SHIFTS[tileCoordinate])];
+    }
+
+    //tries random numbers with few bits set until one sends every set of pieces on the relevant tiles to an index that holds no
+    //other attacks, the attacks table is filled in by the magic number that works
+    private static long findMagic(final int tile,
+                                  final long mask,
+                                  final int shift,
+                                  final int[][] directions,
+                                  final long[] attacks,
+                                  final Random random) {
+        final int subsetCount = 1 << Long.bitCount(mask);
+        final long[] occupancies = new long[subsetCount];
+        final long[] subsetAttacks = new long[subsetCount];
+        //walks every subset of the mask with the carry rippler trick
+        long subset = 0L;
+        for (int i = 0; i < subsetCount; i++) {
+            occupancies[i] = subset;
+            subsetAttacks[i] = calculateRayAttacks(tile, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+        final boolean[] used = new boolean[subsetCount];
+        while (true) {
+            final long magic = random.nextLong() & random.nextLong() & random.nextLong();
+            //a magic number has to spread the mask over the top bits of the product
+            if (Long.bitCount((mask * magic) & 0xFF00_0000_0000_0000L) < 6) {
+                continue;
+            }
+            Arrays.fill(used, false);
+            boolean isMagic = true;
+            for (int i = 0; i < subsetCount && isMagic; i++) {
+                final int index = (int) ((occupancies[i] * magic) >>> shift);
+                if (!used[index]) {
+                    used[index] = true;
+                    attacks[index] = subsetAttacks[i];
+                } else if (attacks[index] != subsetAttacks[i]) {
+                    isMagic = false;
+                }
+            }
+            if (isMagic) {
+                return magic;
+            }
+        }
+    }
+
+    //the tiles of the rays of a tile without the last tile of each ray
+    private static long calculateRelevantTiles(final int tile, final int[][] directions) {
+        long relevantTiles = 0L;
+        for (final int[] direction : directions) {
+            int row = tile / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = tile % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])) {
+                relevantTiles |= 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return relevantTiles;
+    }
+
+    //walks each direction away from the tile until the edge of the board or the first occupied tile, only used to fill the tables
+    private static long calculateRayAttacks(final int tile, final long occupancy, final int[][] directions) {
+        long attacks = 0L;
+        for (final int[] direction : directions) {
+            int row = tile / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = tile % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row, column)) {
+                final long mask = 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+                attacks |= mask;
+                if ((occupancy & mask) != 0) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+}
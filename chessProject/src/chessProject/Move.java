@@ -1,6 +1,7 @@
 package chessProject;
 
 import chessProject.Board.Builder;
+import chessProject.Piece.PieceType;
 //the abstract class move, here all the types of moves are defined
 public abstract class Move {
 	//the board that the move is being made on is defined, the destination location of the move
@@ -37,7 +38,8 @@ public abstract class Move {
         result = result + (isFirstMove ? 1 : 0);
         return result;
     }
-    //overridden equals function
+    //overridden equals function, every piece on a board is one of the shared pieces of the piece utils so two moves of the
+    //same piece have the very same piece object
     @Override
     public boolean equals(final Object other) {
         if (this == other) {
@@ -49,7 +51,7 @@ public abstract class Move {
         final Move otherMove = (Move) other;
         return getCurrentCoordinate() == otherMove.getCurrentCoordinate() &&
                getDestinationCoordinate() == otherMove.getDestinationCoordinate() &&
-               getMovedPiece().equals(otherMove.getMovedPiece());
+               getMovedPiece() == otherMove.getMovedPiece();
     }
     //getter method for the board
     public Board getBoard() {
@@ -84,14 +86,49 @@ public abstract class Move {
     //and the move is finally made when the builder is built again.
     public Board execute() {
         final Board.Builder builder = new Builder();
-        this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
+        this.board.currentPlayer().getActivePieces().stream().filter(piece -> piece != this.movedPiece).forEach(builder::setPiece);
         this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Piece placedPiece = this.movedPiece.movePiece(this);
+        builder.setPiece(placedPiece);
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
         builder.setMoveTransition(this);
+        builder.setZobristKey(calculateZobristKey(placedPiece, getAttackedPiece(), null));
         return builder.build();
     }
 
+    //a function that works out the zobrist key of the board the move creates from the key of the board it is made on. The moved
+    //piece is taken off its tile and the placed piece is put on the destination, the captured piece is taken off, the side to
+    //move changes, the en passant pawn of the old board goes away and a new one comes in after a pawn jump, and a moved king
+    //brings its own castle flags
+    long calculateZobristKey(final Piece placedPiece, final Piece capturedPiece, final Pawn enPassantPawn) {
+        long key = this.board.getZobristKey() ^ Zobrist.getBlackToMoveKey() ^
+                   Zobrist.getPieceKey(this.movedPiece) ^ Zobrist.getPieceKey(placedPiece);
+        if (capturedPiece != null) {
+            key ^= Zobrist.getPieceKey(capturedPiece);
+        }
+        if (this.board.getEnPassantPawn() != null) {
+            key ^= Zobrist.getEnPassantKey(this.board.getEnPassantPawnTile());
+        }
+        if (enPassantPawn != null) {
+            key ^= Zobrist.getEnPassantKey(enPassantPawn.getPiecePosition());
+        }
+        if (placedPiece.getPieceType().isKing()) {
+            final King placedKing = (King) placedPiece;
+            final boolean isWhite = placedKing.getPieceAlliance().isWhite();
+            int castlingRights = this.board.getCastlingRights() & (isWhite ?
+                    ~(SearchBoard.WHITE_KING_SIDE_CASTLE | SearchBoard.WHITE_QUEEN_SIDE_CASTLE) :
+                    ~(SearchBoard.BLACK_KING_SIDE_CASTLE | SearchBoard.BLACK_QUEEN_SIDE_CASTLE));
+            if (placedKing.isKingSideCastleCapable()) {
+                castlingRights |= isWhite ? SearchBoard.WHITE_KING_SIDE_CASTLE : SearchBoard.BLACK_KING_SIDE_CASTLE;
+            }
+            if (placedKing.isQueenSideCastleCapable()) {
+                castlingRights |= isWhite ? SearchBoard.WHITE_QUEEN_SIDE_CASTLE : SearchBoard.BLACK_QUEEN_SIDE_CASTLE;
+            }
+            key ^= Zobrist.getCastlingKey(this.board.getCastlingRights()) ^ Zobrist.getCastlingKey(castlingRights);
+        }
+        return key;
+    }
+
    
     //a function used to return a string after the position of the pieces have been changed in order to keep track of the move and its
     //notation value
@@ -123,10 +160,11 @@ public abstract class Move {
         public int hashCode(){
             return decoratedMove.hashCode() + (31 * promotedPawn.hashCode());
         }
-      //overridden equals function
+      //overridden equals function, two promotions are the same when the pawn moves they promote with are the same
         @Override
         public boolean equals(final Object other){
-            return this == other || other instanceof PawnPromotion && this.decoratedMove.equals(other);
+            return this == other ||
+                   other instanceof PawnPromotion && this.decoratedMove.equals(((PawnPromotion) other).decoratedMove);
         }
         //the execute function 
         @Override
@@ -135,7 +173,7 @@ public abstract class Move {
             final Board pawnMovedBoard = this.decoratedMove.execute();
             final Board.Builder builder = new Builder();
             for (final Piece piece : pawnMovedBoard.currentPlayer().getActivePieces()){
-                if (!this.promotedPawn.equals(piece)){
+                if (piece != this.promotedPawn){
                     builder.setPiece(piece);
                 }
             }
@@ -144,8 +182,13 @@ public abstract class Move {
                 builder.setPiece(piece);
             }
             //once the pawn has been promoted, the pawn becomes the promoted piece which in this case is the queen
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+            final Piece promotionPiece = this.promotedPawn.getPromotionPiece().movePiece(this);
+            builder.setPiece(promotionPiece);
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            //the key of the board with the moved pawn only has to swap the pawn for the promoted piece
+            builder.setZobristKey(pawnMovedBoard.getZobristKey() ^
+                    Zobrist.getPieceKey(pawnMovedBoard.getTile(this.destinationCoordinate).getPiece()) ^
+                    Zobrist.getPieceKey(promotionPiece));
             return builder.build();
         }
         //overridden function for is attack
@@ -279,19 +322,21 @@ public abstract class Move {
             final Builder builder = new Builder();
             //the current player's pieces are get and then set by the builder
             for (final Piece piece : this.board.currentPlayer().getActivePieces()){
-                if(!this.movedPiece.equals(piece)) {
+                if(piece != this.movedPiece) {
                     builder.setPiece(piece);
                 }
             }
             //the opponent's pieces are also taken and checked for an attack
             for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-                if(!piece.equals(this.getAttackedPiece())){
+                if(piece != this.getAttackedPiece()){
                     builder.setPiece(piece);
                 }
             }
             //the piece is moved here and the en passant is completed
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece placedPiece = this.movedPiece.movePiece(this);
+            builder.setPiece(placedPiece);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey(placedPiece, getAttackedPiece(), null));
             return builder.build();
         }
 
@@ -316,7 +361,7 @@ public abstract class Move {
         	//builder is instantiated
             final Board.Builder builder = new Builder();
             //current and opponent players pieces are taken and set
-            this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
+            this.board.currentPlayer().getActivePieces().stream().filter(piece -> piece != this.movedPiece).forEach(builder::setPiece);
             this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
             //the moved pawn is kept track of
             final Pawn movedPawn = (Pawn)this.movedPiece.movePiece(this);
@@ -327,6 +372,7 @@ public abstract class Move {
             //the move is then made by the player and built 
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey(movedPawn, null, movedPawn));
             return builder.build();
         }
         //overridden toString() method
@@ -370,16 +416,20 @@ public abstract class Move {
         public Board execute() {
             final Board.Builder builder = new Builder();
             for (final Piece piece : this.board.getAllPieces()) {
-                if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
+                if (piece != this.movedPiece && piece != this.castleRook) {
                     builder.setPiece(piece);
                 }
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece placedKing = this.movedPiece.movePiece(this);
+            builder.setPiece(placedKing);
             //the castle cannot be made using the move piece function and instead a new rook is made at the
             //destination position  
-            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false));
+            final Rook placedRook = PieceUtils.getRook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false);
+            builder.setPiece(placedRook);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey(placedKing, null, null) ^
+                    Zobrist.getPieceKey(this.castleRook) ^ Zobrist.getPieceKey(placedRook));
             return builder.build();
         }
       //An overridden function of the hash code function , we use our own implementation because a class will not be able to function properly
@@ -402,7 +452,7 @@ public abstract class Move {
                 return false;
             }
             final CastleMove otherCastleMove = (CastleMove) other;
-            return super.equals(otherCastleMove) && this.castleRook.equals(otherCastleMove.getCastleRook());
+            return super.equals(otherCastleMove) && this.castleRook == otherCastleMove.getCastleRook();
         }
 
     }
@@ -430,7 +480,7 @@ public abstract class Move {
                 return false;
             }
             final KingSideCastleMove otherKingSideCastleMove = (KingSideCastleMove) other;
-            return super.equals(otherKingSideCastleMove) && this.castleRook.equals(otherKingSideCastleMove.getCastleRook());
+            return super.equals(otherKingSideCastleMove) && this.castleRook == otherKingSideCastleMove.getCastleRook();
         }
         //overridden toString() method
         @Override
@@ -463,7 +513,7 @@ public abstract class Move {
                 return false;
             }
             final QueenSideCastleMove otherQueenSideCastleMove = (QueenSideCastleMove) other;
-            return super.equals(otherQueenSideCastleMove) && this.castleRook.equals(otherQueenSideCastleMove.getCastleRook());
+            return super.equals(otherQueenSideCastleMove) && this.castleRook == otherQueenSideCastleMove.getCastleRook();
         }
         //overridden toString() function
         @Override
@@ -501,7 +551,7 @@ public abstract class Move {
                 return false;
             }
             final AttackMove otherAttackMove = (AttackMove) other;
-            return super.equals(otherAttackMove) && getAttackedPiece().equals(otherAttackMove.getAttackedPiece());
+            return super.equals(otherAttackMove) && getAttackedPiece() == otherAttackMove.getAttackedPiece();
         }
         //getter method for the attacked piece
         @Override
@@ -555,18 +605,27 @@ public abstract class Move {
         public static Move getNullMove() {
             return NULL_MOVE;
         }
-        //the create move function used to create a move, it takes all the legal moves on the board
-        //and if the move coordinates are valid, the move is created. Otherwise, the move is declared a null move
+        //the create move function used to create a move, the move is looked up in the move table of the player whose piece stands
+        //on the source tile. a pawn reaching the last rank is promoted to a queen. if there is no such move the move is declared
+        //a null move
         public static Move createMove(final Board board,
                                       final int currentCoordinate,
                                       final int destinationCoordinate) {
-            for (final Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentCoordinate() == currentCoordinate &&
-                    move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
+            final Move move = createMove(board, currentCoordinate, destinationCoordinate, null);
+            return move != NULL_MOVE ? move : createMove(board, currentCoordinate, destinationCoordinate, PieceType.QUEEN);
+        }
+        //creates the move that promotes to the given piece type, the promotion piece type is null for a move that does not promote
+        public static Move createMove(final Board board,
+                                      final int currentCoordinate,
+                                      final int destinationCoordinate,
+                                      final PieceType promotionPieceType) {
+            final Piece movedPiece = board.getTile(currentCoordinate).getPiece();
+            if (movedPiece == null) {
+                return NULL_MOVE;
             }
-            return NULL_MOVE;
+            final Player player = movedPiece.getPieceAlliance().isWhite() ? board.whitePlayer() : board.blackPlayer();
+            final Move move = player.getMove(currentCoordinate, destinationCoordinate, promotionPieceType);
+            return move != null ? move : NULL_MOVE;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package chessProject;
+
+import java.util.Arrays;
+//A list of packed moves kept in an int array. The list is meant to be made once and cleared and filled again for every
+//position, so generating moves does not allocate anything once the array has grown to the size it needs.
+public final class MoveList {
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(SearchBoard.MAX_MOVES);
+    }
+
+    public MoveList(final int initialCapacity) {
+        this.moves = new int[Math.max(1, initialCapacity)];
+        this.size = 0;
+    }
+
+    //adds a packed move at the end of the list
+    public void add(final int move) {
+        if (this.size == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+        }
+        this.moves[this.size++] = move;
+    }
+
+    //getter method for the packed move at an index
+    public int get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new RuntimeException("Index " + index + " is outside of a move list with " + this.size + " moves!");
+        }
+        return this.moves[index];
+    }
+
+    //replaces the packed move at an index, used to sort the moves in place
+    public void set(final int index, final int move) {
+        if (index < 0 || index >= this.size) {
+            throw new RuntimeException("Index " + index + " is outside of a move list with " + this.size + " moves!");
+        }
+        this.moves[index] = move;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    //empties the list but keeps its array
+    public void clear() {
+        this.size = 0;
+    }
+
+    //checks whether the list holds the packed move
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //makes sure the array has room for the given number of moves after the last one, so they can be written straight into it
+    int[] ensureCapacity(final int extraMoves) {
+        if (this.size + extraMoves > this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, Math.max(this.moves.length * 2, this.size + extraMoves));
+        }
+        return this.moves;
+    }
+
+    //sets the size after moves have been written straight into the array
+    void setSize(final int size) {
+        this.size = size;
+    }
+
+    //a copy of the moves of the list
+    public int[] toArray() {
+        return Arrays.copyOf(this.moves, this.size);
+    }
+
+    //overridden toString() method
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(PackedMove.toString(this.moves[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,72 @@
+package chessProject;
+
+import java.util.Collection;
+
+import chessProject.Piece.PieceType;
+//An index of the moves of a player keyed by the source tile, the destination tile and the piece a pawn is promoted to, so a
+//move can be found or checked for in constant time instead of going through all of the moves of the player. The keys and the
+//moves are kept in two arrays with open addressing, the arrays are at least twice as long as the number of moves so a lookup
+//only ever looks at a few slots.
+final class MoveTable {
+
+    private static final int MIN_CAPACITY = 16;
+    //a key is never 0 since the promotion part of every key is at least 1
+    private static final int EMPTY_KEY = 0;
+    private static final int NO_PROMOTION = 1;
+
+    private final int[] keys;
+    private final Move[] moves;
+    private final int mask;
+
+    MoveTable(final Collection<Move> legalMoves) {
+        final int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, legalMoves.size() * 2) - 1) << 1);
+        this.keys = new int[capacity];
+        this.moves = new Move[capacity];
+        this.mask = capacity - 1;
+        for (final Move move : legalMoves) {
+            final int key = createKey(move.getCurrentCoordinate(), move.getDestinationCoordinate(), getPromotionPieceType(move));
+            int slot = getSlot(key);
+            while (this.keys[slot] != EMPTY_KEY && this.keys[slot] != key) {
+                slot = (slot + 1) & this.mask;
+            }
+            //the first move with a key wins, just like it would when the moves were searched from the front
+            if (this.keys[slot] == EMPTY_KEY) {
+                this.keys[slot] = key;
+                this.moves[slot] = move;
+            }
+        }
+    }
+
+    //the move from the source tile to the destination tile that promotes to the given piece type, the promotion piece type is
+    //null for a move that does not promote. null is returned when the player has no such move
+    Move getMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionPieceType) {
+        final int key = createKey(currentCoordinate, destinationCoordinate, promotionPieceType);
+        for (int slot = getSlot(key); this.keys[slot] != EMPTY_KEY; slot = (slot + 1) & this.mask) {
+            if (this.keys[slot] == key) {
+                return this.moves[slot];
+            }
+        }
+        return null;
+    }
+
+    //checks whether the move is one of the moves of the table, the move found under its key is compared to it so a move of
+    //another board with the same piece and tiles is found as well
+    boolean contains(final Move move) {
+        final Move found = getMove(move.getCurrentCoordinate(), move.getDestinationCoordinate(), getPromotionPieceType(move));
+        return found != null && (found == move || found.equals(move));
+    }
+
+    //our rules only ever promote a pawn to a queen
+    private static PieceType getPromotionPieceType(final Move move) {
+        return move instanceof Move.PawnPromotion ? PieceType.QUEEN : null;
+    }
+
+    private static int createKey(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionPieceType) {
+        final int promotion = promotionPieceType == null ? NO_PROMOTION : promotionPieceType.ordinal() + NO_PROMOTION + 1;
+        return currentCoordinate | (destinationCoordinate << 6) | (promotion << 12);
+    }
+
+    private int getSlot(final int key) {
+        return ((key * 0x9E3779B1) >>> 16) & this.mask;
+    }
+}
@@ -0,0 +1,138 @@
+package chessProject;
+
+import chessProject.Piece.PieceType;
+//A utility class for moves packed into the low 16 bits of an int, so a move can be kept in an int array instead of being an object
+//with a reference to its board. The source tile is in bits 0-5, the destination tile in bits 6-11 and the kind of move in bits
+//12-15. A promotion kind has its highest bit set, the bit below it tells whether the promotion takes a piece and the two lowest
+//bits give the piece the pawn turns into.
+//
+//The search and the perft walk only ever see packed moves, they are turned into the move classes at the edge of the program where
+//the gui, the move log or the notation need them.
+public final class PackedMove {
+
+    //the value of no move, no real move starts and ends on the same tile
+    public static final int NO_MOVE = 0;
+
+    //the kinds of moves
+    public static final int QUIET_MOVE = 0;
+    public static final int ATTACK_MOVE = 1;
+    public static final int PAWN_JUMP = 2;
+    public static final int EN_PASSANT_ATTACK_MOVE = 3;
+    public static final int KING_SIDE_CASTLE = 4;
+    public static final int QUEEN_SIDE_CASTLE = 5;
+    private static final int PROMOTION_FLAG = 8;
+    private static final int PROMOTION_ATTACK_FLAG = 4;
+    //our rules only ever promote a pawn to a queen
+    public static final int PAWN_PROMOTION = PROMOTION_FLAG | getPromotionCode(PieceType.QUEEN);
+    public static final int PAWN_ATTACK_PROMOTION = PROMOTION_FLAG | PROMOTION_ATTACK_FLAG | getPromotionCode(PieceType.QUEEN);
+
+    //the pieces a pawn can be promoted to, in the order of their promotion code
+    private static final PieceType[] PROMOTION_PIECE_TYPES = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
+
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int KIND_SHIFT = 12;
+    private static final int TILE_MASK = 0x3F;
+    private static final int KIND_MASK = 0xF;
+
+    //Constructor for packed move, a runtime exception is used if the class is initiated.
+    private PackedMove() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //packs a move
+    public static int create(final int currentCoordinate, final int destinationCoordinate, final int moveKind) {
+        return currentCoordinate | (destinationCoordinate << DESTINATION_SHIFT) | (moveKind << KIND_SHIFT);
+    }
+
+    //packs a promotion to the given piece type
+    public static int createPromotion(final int currentCoordinate,
+                                      final int destinationCoordinate,
+                                      final boolean isAttack,
+                                      final PieceType promotionPieceType) {
+        return create(currentCoordinate, destinationCoordinate,
+                PROMOTION_FLAG | (isAttack ? PROMOTION_ATTACK_FLAG : 0) | getPromotionCode(promotionPieceType));
+    }
+
+    //functions used to read a packed move back
+    public static int getCurrentCoordinate(final int move) {
+        return move & TILE_MASK;
+    }
+
+    public static int getDestinationCoordinate(final int move) {
+        return (move >>> DESTINATION_SHIFT) & TILE_MASK;
+    }
+
+    public static int getMoveKind(final int move) {
+        return (move >>> KIND_SHIFT) & KIND_MASK;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (getMoveKind(move) & PROMOTION_FLAG) != 0;
+    }
+
+    public static boolean isAttack(final int move) {
+        final int moveKind = getMoveKind(move);
+        return moveKind == ATTACK_MOVE || moveKind == EN_PASSANT_ATTACK_MOVE ||
+               (moveKind & (PROMOTION_FLAG | PROMOTION_ATTACK_FLAG)) == (PROMOTION_FLAG | PROMOTION_ATTACK_FLAG);
+    }
+
+    public static boolean isCastlingMove(final int move) {
+        final int moveKind = getMoveKind(move);
+        return moveKind == KING_SIDE_CASTLE || moveKind == QUEEN_SIDE_CASTLE;
+    }
+
+    //the piece type a promotion turns the pawn into, null when the move is not a promotion
+    public static PieceType getPromotionPieceType(final int move) {
+        return isPromotion(move) ? PROMOTION_PIECE_TYPES[getMoveKind(move) & 0x3] : null;
+    }
+
+    //packs a move of the move classes
+    public static int fromMove(final Move move) {
+        final int currentCoordinate = move.getCurrentCoordinate();
+        final int destinationCoordinate = move.getDestinationCoordinate();
+        if (move instanceof Move.PawnPromotion) {
+            return createPromotion(currentCoordinate, destinationCoordinate, move.isAttack(), PieceType.QUEEN);
+        }
+        if (move instanceof Move.PawnEnPassantAttackMove) {
+            return create(currentCoordinate, destinationCoordinate, EN_PASSANT_ATTACK_MOVE);
+        }
+        if (move instanceof Move.PawnJump) {
+            return create(currentCoordinate, destinationCoordinate, PAWN_JUMP);
+        }
+        if (move instanceof Move.KingSideCastleMove) {
+            return create(currentCoordinate, destinationCoordinate, KING_SIDE_CASTLE);
+        }
+        if (move instanceof Move.QueenSideCastleMove) {
+            return create(currentCoordinate, destinationCoordinate, QUEEN_SIDE_CASTLE);
+        }
+        return create(currentCoordinate, destinationCoordinate, move.isAttack() ? ATTACK_MOVE : QUIET_MOVE);
+    }
+
+    //turns a packed move into the move of the board with the same source and destination, the null move when the board has no
+    //such move
+    public static Move toMove(final Board board, final int move) {
+        return Move.MoveFactory.createMove(board, getCurrentCoordinate(move), getDestinationCoordinate(move));
+    }
+
+    //the move in coordinate notation, such as e2e4 or e7e8q
+    public static String toString(final int move) {
+        final String notation = BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+                                BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(move));
+        return isPromotion(move) ? notation + getPromotionPieceType(move).toString().toLowerCase() : notation;
+    }
+
+    private static int getPromotionCode(final PieceType pieceType) {
+        switch (pieceType) {
+            case KNIGHT:
+                return 0;
+            case BISHOP:
+                return 1;
+            case ROOK:
+                return 2;
+            case QUEEN:
+                return 3;
+            default:
+                throw new RuntimeException("A pawn cannot be promoted to " + pieceType + "!");
+        }
+    }
+}
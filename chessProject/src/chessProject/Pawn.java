@@ -6,12 +6,12 @@ import java.util.Collections;
 import java.util.List;
 
 //This is the code for the pawn piece
-//a pawn is only able to move forward by one tile and so its exclusions only apply when attacking on its diagonals
+//a pawn moves forward one tile or jumps two tiles on its first move, its attacks on its diagonals come from the pawn attack table
 
 public class Pawn extends Piece{
 	
 	//These are the coordinate offsets calculated for a pawn using our one dimensional approach
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {7, 8, 9, 16};
+    private final static int[] CANDIDATE_MOVE_COORDINATE = {8, 16};
     
     //A pawn is constructed with its side and its position on the board
     //It also inherits from its piece superclass
@@ -36,7 +36,7 @@ public class Pawn extends Piece{
             //This if check is used to check when it moves a tile forward whether or not that tile is being occupied or not
             //if the tile is on the eighth rank which is the tile on the other end of the board used for pawn promotion, the
             //pawn becomes eligible to promote, otherwise it moves forward normally
-            if (currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()){
+            if (currentCandidateOffset == 8 && !board.isTileOccupied(candidateDestinationCoordinate)){
                 if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)){
                     legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
                 }else {
@@ -51,67 +51,34 @@ public class Pawn extends Piece{
                 
                 //by checking whether the tile in front of it and the tile ahead of that is occupied we can then add the
                 //jump move to the legal moves
-                if(!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() &&
-                   !board.getTile(candidateDestinationCoordinate).isTileOccupied()){
+                if(!board.isTileOccupied(behindCandidateDestinationCoordinate) &&
+                   !board.isTileOccupied(candidateDestinationCoordinate)){
                     legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
                 }
-            }//an if check that checks for the pawn attacking move, a pawn attacks on its diagonals and so this checks whether
-            //the opposite tile is occupied by another piece. If the piece it attacks is on the pawn promotion tile, the pawn
-            //would capture on that tile and then promote because it is on the final rank
-            
-            //this is calculated for the left diagonal attack
-            else if (currentCandidateOffset == 7 &&
-                     !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                      (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))){
-                if(board.getTile(candidateDestinationCoordinate).isTileOccupied()){
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)){
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
-                    }
-                }//one of the features is that since only one pawn at a time is capable of making an en passant move
-                //, we can check whether the attacking pawn is qualified for en passant, assuming that the pawn is qualified for en passant
-                //we can then add that attacking move as an en passant move instead of a normal attacking move
-                else if(board.getEnPassantPawn() != null){
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.pieceAlliance.getOppositeDirection()))){
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()){
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
-                    }
-                }
-                
-            }//an if check that checks for the pawn attacking move, a pawn attacks on its diagonals and so this checks whether
-            //the opposite tile is occupied by another piece. If the piece it attacks is on the pawn promotion tile, the pawn
-            //would capture on that tile and then promote because it is on the final rank.
-            
-          //this is calculated for the right diagonal attack
-            else if (currentCandidateOffset == 9 &&
-                     !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                     (BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))){
-                if(board.getTile(candidateDestinationCoordinate).isTileOccupied()){
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
-                    }
-                  //one of the features is that since only one pawn at a time is capable of making an en passant move
-                    //, we can check whether the attacking pawn is qualified for en passant, assuming that the pawn is qualified for en passant
-                    //we can then add that attacking move as an enp assant move instead of a normal attacking move 
-                }else if(board.getEnPassantPawn() != null){
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition - (this.pieceAlliance.getOppositeDirection()))){
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()){
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
-                    }
-                }
+            }
+        }
+        //a pawn attacks on its diagonals, the two tiles are looked up in the pawn attack table so a pawn on the edge of the board
+        //only gets the tile that is on the board. If the piece it attacks is on the pawn promotion tile, the pawn would capture
+        //on that tile and then promote because it is on the final rank
+        final long attacks = BitBoardUtils.getPawnAttacks(this.piecePosition, this.pieceAlliance);
+        for (long remaining = attacks & board.getOccupancy(this.pieceAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+             remaining != 0; remaining &= remaining - 1) {
+            final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(remaining);
+            final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
+            if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
+                legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
+            } else {
+                legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
+            }
+        }
+        //since only one pawn at a time is capable of making an en passant move, we check whether the en passant pawn stands right
+        //behind one of the attacked tiles, if so the attacking pawn moves onto that tile and takes the en passant pawn
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance) {
+            final int candidateDestinationCoordinate = enPassantPawn.getPiecePosition() +
+                    (this.pieceAlliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+            if (BitBoardUtils.isTileSet(attacks, candidateDestinationCoordinate)) {
+                legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, enPassantPawn));
             }
         }
       //Once the moves have been collected they are returned as an immutable list of moves 
@@ -120,7 +87,7 @@ public class Pawn extends Piece{
   //An overriden method describing the movement of a pawn
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return PieceUtils.getPawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), true);
     }
   //An overriden method describing the toString() method for a bishop
     @Override
@@ -130,7 +97,7 @@ public class Pawn extends Piece{
 
     //promotion is normally qualified for every other piece but the default promotion to a queen is used here
     public Piece getPromotionPiece(){
-        return new Queen(this.pieceAlliance, this.piecePosition, false);
+        return PieceUtils.getQueen(this.pieceAlliance, this.piecePosition, false);
     }
     
 }
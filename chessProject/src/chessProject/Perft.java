@@ -0,0 +1,230 @@
+package chessProject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+//A perft (performance test) tool, it walks the tree of every legal move from a position down to a fixed depth and counts the
+//positions reached at the last depth. Since the number of positions for well known positions has been published, comparing
+//our counts with them finds bugs in the move generation, and timing the walk tells us how fast the move generation is.
+//
+//The tree can be walked on the board class, or on a search board which makes and unmakes the moves in place. Both have to
+//give the same counts.
+//
+//Usage:
+//  Perft [-search]                                  runs every reference position up to depth 4
+//  Perft [-search] suite <maxDepth>                 runs every reference position up to the given depth
+//  Perft [-search] perft <position> <depth>         counts the nodes of one reference position for every depth up to the given one
+//  Perft divide <position> <depth>                  counts the nodes below every root move of one reference position
+//  Perft [-search] fen "<fen>" <depth>              counts the nodes of any position given as a FEN string
+public final class Perft {
+
+    //the depth the reference suite is run to when no depth is given
+    private static final int DEFAULT_SUITE_DEPTH = 4;
+
+    //the reference positions with their published node counts, the first count is for depth 1.
+    //our rules only ever promote a pawn to a queen and do not generate castling moves, so only positions whose counts
+    //contain no castling and no under promotion for the listed depths are used here
+    public enum ReferencePosition {
+        //the standard starting position
+        STARTING_POSITION("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                20L, 400L, 8902L, 197281L, 4865609L, 119060324L),
+        //an endgame with en passant captures and discovered checks along the rank of the kings
+        POSITION_3("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                14L, 191L, 2812L, 43238L, 674624L, 11030083L),
+        //a symmetrical middlegame where both kings have already castled
+        POSITION_6("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                46L, 2079L, 89890L, 3894594L, 164075551L);
+
+        private final String fen;
+        private final long[] expectedNodes;
+
+        ReferencePosition(final String fen, final long... expectedNodes) {
+            this.fen = fen;
+            this.expectedNodes = expectedNodes;
+        }
+
+        //getter method for the FEN string of the position
+        public String getFEN() {
+            return this.fen;
+        }
+
+        //the deepest depth a node count has been published for
+        public int getMaxDepth() {
+            return this.expectedNodes.length;
+        }
+
+        //the published node count for a depth
+        public long getExpectedNodes(final int depth) {
+            return this.expectedNodes[depth - 1];
+        }
+
+        //builds the board of the position from its FEN string
+        public Board createBoard() {
+            return FenUtilities.createBoardFromFEN(this.fen);
+        }
+    }
+
+    //Constructor for perft, a runtime exception is used if the class is initiated.
+    private Perft() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //counts the positions reached after playing every legal move sequence of the given length from the board
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        long nodes = 0L;
+        final Player currentPlayer = board.currentPlayer();
+        for (final Move move : currentPlayer.getLegalMoves()) {
+            final MoveTransition transition = currentPlayer.makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += perft(transition.getToBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    //counts the positions reached the same way on a search board, every ply has its own move list that is cleared and filled
+    //again for each position so that the walk does not allocate
+    public static long perft(final SearchBoard board, final int depth) {
+        final MoveList[] moveLists = new MoveList[depth + 1];
+        for (int ply = 0; ply <= depth; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+        return perft(board, depth, moveLists);
+    }
+
+    private static long perft(final SearchBoard board, final int depth, final MoveList[] moveLists) {
+        if (depth == 0) {
+            return 1L;
+        }
+        long nodes = 0L;
+        final MoveList moveList = moveLists[depth];
+        board.generateMoves(moveList);
+        for (int i = 0; i < moveList.size(); i++) {
+            if (board.makeMove(moveList.get(i))) {
+                nodes += perft(board, depth - 1, moveLists);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    //counts the nodes below every legal root move separately, when our total does not match the published one, the root
+    //move with the wrong count shows where in the tree the move generation goes wrong
+    public static List<RootMoveCount> divide(final Board board, final int depth) {
+        final List<RootMoveCount> rootMoveCounts = new ArrayList<>();
+        final Player currentPlayer = board.currentPlayer();
+        for (final Move move : currentPlayer.getLegalMoves()) {
+            final MoveTransition transition = currentPlayer.makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                rootMoveCounts.add(new RootMoveCount(move, perft(transition.getToBoard(), depth - 1)));
+            }
+        }
+        return rootMoveCounts;
+    }
+
+    //the number of nodes below one root move
+    public static final class RootMoveCount {
+        private final Move move;
+        private final long nodes;
+
+        RootMoveCount(final Move move, final long nodes) {
+            this.move = move;
+            this.nodes = nodes;
+        }
+
+        public Move getMove() {
+            return this.move;
+        }
+
+        public long getNodes() {
+            return this.nodes;
+        }
+    }
+
+    public static void main(final String[] arguments) {
+        final boolean onSearchBoard = arguments.length > 0 && arguments[0].equals("-search");
+        final String[] args = onSearchBoard ? Arrays.copyOfRange(arguments, 1, arguments.length) : arguments;
+        if (args.length == 0) {
+            runSuite(DEFAULT_SUITE_DEPTH, onSearchBoard);
+        } else if (args[0].equals("suite") && args.length == 2) {
+            runSuite(Integer.parseInt(args[1]), onSearchBoard);
+        } else if (args[0].equals("perft") && args.length == 3) {
+            runPosition(ReferencePosition.valueOf(args[1]), Integer.parseInt(args[2]), onSearchBoard);
+        } else if (args[0].equals("divide") && args.length == 3) {
+            runDivide(ReferencePosition.valueOf(args[1]), Integer.parseInt(args[2]));
+        } else if (args[0].equals("fen") && args.length == 3) {
+            runFEN(args[1], Integer.parseInt(args[2]), onSearchBoard);
+        } else {
+            System.out.println("usage: Perft [-search] [suite <maxDepth> | perft <position> <depth> | divide <position> <depth> | " +
+                               "fen \"<fen>\" <depth>]");
+        }
+    }
+
+    //runs every reference position and prints whether all of the counts matched
+    private static void runSuite(final int maxDepth, final boolean onSearchBoard) {
+        boolean allMatched = true;
+        for (final ReferencePosition position : ReferencePosition.values()) {
+            allMatched &= runPosition(position, Math.min(maxDepth, position.getMaxDepth()), onSearchBoard);
+        }
+        System.out.println(allMatched ? "All node counts matched" : "Some node counts did NOT match");
+    }
+
+    //prints the node count, time and nodes per second of every depth of a reference position
+    private static boolean runPosition(final ReferencePosition position, final int maxDepth, final boolean onSearchBoard) {
+        System.out.println(position + (onSearchBoard ? " (search board)" : ""));
+        final Board board = position.createBoard();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        boolean allMatched = true;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            final long startTime = System.nanoTime();
+            final long nodes = onSearchBoard ? perft(searchBoard, depth) : perft(board, depth);
+            final long elapsedTime = System.nanoTime() - startTime;
+            final boolean matched = depth > position.getMaxDepth() || nodes == position.getExpectedNodes(depth);
+            allMatched &= matched;
+            System.out.println(String.format("  depth %2d %,15d nodes %,10d ms %,12d nps %s", depth, nodes,
+                    elapsedTime / 1_000_000L, nodesPerSecond(nodes, elapsedTime), matched ? "ok" : "MISMATCH, expected " +
+                    position.getExpectedNodes(depth)));
+        }
+        return allMatched;
+    }
+
+    //prints the node count, time and nodes per second of every depth of a position given as a FEN string
+    private static void runFEN(final String fen, final int maxDepth, final boolean onSearchBoard) {
+        final Board board = FenUtilities.createBoardFromFEN(fen);
+        System.out.println(FenUtilities.createFENFromBoard(board) + (onSearchBoard ? " (search board)" : ""));
+        final SearchBoard searchBoard = new SearchBoard(board);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            final long startTime = System.nanoTime();
+            final long nodes = onSearchBoard ? perft(searchBoard, depth) : perft(board, depth);
+            final long elapsedTime = System.nanoTime() - startTime;
+            System.out.println(String.format("  depth %2d %,15d nodes %,10d ms %,12d nps", depth, nodes,
+                    elapsedTime / 1_000_000L, nodesPerSecond(nodes, elapsedTime)));
+        }
+    }
+
+    //prints the node count below every root move of a reference position followed by the total
+    private static void runDivide(final ReferencePosition position, final int depth) {
+        final long startTime = System.nanoTime();
+        final List<RootMoveCount> rootMoveCounts = divide(position.createBoard(), depth);
+        final long elapsedTime = System.nanoTime() - startTime;
+        long totalNodes = 0L;
+        for (final RootMoveCount rootMoveCount : rootMoveCounts) {
+            final Move move = rootMoveCount.getMove();
+            System.out.println(String.format("  %s%s %,d", BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()),
+                    BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()), rootMoveCount.getNodes()));
+            totalNodes += rootMoveCount.getNodes();
+        }
+        System.out.println(String.format("%d moves, %,d nodes, %,d ms, %,d nps", rootMoveCounts.size(), totalNodes,
+                elapsedTime / 1_000_000L, nodesPerSecond(totalNodes, elapsedTime)));
+        if (depth <= position.getMaxDepth() && totalNodes != position.getExpectedNodes(depth)) {
+            System.out.println("MISMATCH, expected " + position.getExpectedNodes(depth));
+        }
+    }
+
+    private static long nodesPerSecond(final long nodes, final long elapsedNanos) {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+}
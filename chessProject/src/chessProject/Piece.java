@@ -1,6 +1,8 @@
 package chessProject;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 //the abstract class each of the piece classes inherit from
 public abstract class Piece {
@@ -66,6 +68,23 @@ public abstract class Piece {
     public PieceType getPieceType(){
         return this.pieceType;
     }
+    //a function that turns the tiles a piece attacks into moves, the tiles of the piece's own side are taken out first, an
+    //empty tile then gives a normal move and a tile with an opponent piece gives an attacking move
+    protected final Collection<Move> calculateMoves(final Board board, final long attacks) {
+        final long destinations = attacks & ~board.getOccupancy(this.pieceAlliance);
+        final List<Move> legalMoves = new ArrayList<>(Long.bitCount(destinations));
+        for (long remaining = destinations; remaining != 0; remaining &= remaining - 1) {
+            final int destinationCoordinate = Long.numberOfTrailingZeros(remaining);
+            if (board.isTileOccupied(destinationCoordinate)) {
+                legalMoves.add(new Move.MajorAttackMove(board, this, destinationCoordinate,
+                        board.getTile(destinationCoordinate).getPiece()));
+            } else {
+                legalMoves.add(new Move.MajorMove(board, this, destinationCoordinate));
+            }
+        }
+        //Once the moves have been collected they are returned as an immutable list of moves
+        return Collections.unmodifiableList(legalMoves);
+    }
     //the abstract method each piece uses to calculate its own amount of legal moves
     public abstract Collection<Move> calculateLegalMoves(final Board board);
     //the abstract method used to move a piece by creating a new piece after the move has been made
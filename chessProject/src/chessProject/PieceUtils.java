@@ -0,0 +1,145 @@
+package chessProject;
+
+import chessProject.Piece.PieceType;
+//A utility class with one shared piece for every combination of piece type, side, tile and first move, and for a king also
+//every combination of its castle flags. Pieces can not be changed once they are made, so two pieces that look the same can
+//just as well be the same object. Moving a piece or promoting a pawn is then a lookup in an array instead of making a new
+//piece, and the pieces of the boards can be compared with == where the equals method would compare every field.
+//
+//Every piece that is put on a board goes through the builder of the board, which swaps it for the shared piece, so every
+//piece on every board comes from these tables. Every shared piece also has its occupied tile made once, so a board is put
+//together from shared tiles as well.
+public final class PieceUtils {
+
+    private static final int ALLIANCES = 2;
+    private static final int FIRST_MOVE_STATES = 2;
+    //the three flags of a king, castled, king side castle capable and queen side castle capable
+    private static final int KING_FLAG_STATES = 8;
+    private static final int PIECES_PER_FLAG_STATE = ALLIANCES * BoardUtils.NUM_TILES * FIRST_MOVE_STATES;
+
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int KING = PieceType.KING.ordinal();
+
+    //the shared pieces of every piece type and the occupied tile of every shared piece, both in the same order
+    private static final Piece[][] PIECES = new Piece[PieceType.values().length][];
+    private static final Tile[][] OCCUPIED_TILES = new Tile[PieceType.values().length][];
+
+    static {
+        for (final PieceType pieceType : PieceType.values()) {
+            final int flagStates = pieceType.isKing() ? KING_FLAG_STATES : 1;
+            PIECES[pieceType.ordinal()] = new Piece[PIECES_PER_FLAG_STATE * flagStates];
+            OCCUPIED_TILES[pieceType.ordinal()] = new Tile[PIECES_PER_FLAG_STATE * flagStates];
+            for (final Alliance alliance : new Alliance[] {Alliance.WHITE, Alliance.BLACK}) {
+                for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                    for (final boolean isFirstMove : new boolean[] {false, true}) {
+                        for (int flags = 0; flags < flagStates; flags++) {
+                            final int index = getIndex(alliance, tile, isFirstMove) * flagStates + flags;
+                            final Piece piece = createPiece(pieceType, alliance, tile, isFirstMove, flags);
+                            PIECES[pieceType.ordinal()][index] = piece;
+                            OCCUPIED_TILES[pieceType.ordinal()][index] = Tile.createOccupiedTile(tile, piece);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    //Constructor for piece utils, a runtime exception is used if the class is initiated.
+    private PieceUtils() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //getter methods for the shared pieces
+    public static Pawn getPawn(final Alliance alliance, final int tile, final boolean isFirstMove) {
+        return (Pawn) PIECES[PAWN][getIndex(alliance, tile, isFirstMove)];
+    }
+
+    public static Knight getKnight(final Alliance alliance, final int tile, final boolean isFirstMove) {
+        return (Knight) PIECES[KNIGHT][getIndex(alliance, tile, isFirstMove)];
+    }
+
+    public static Bishop getBishop(final Alliance alliance, final int tile, final boolean isFirstMove) {
+        return (Bishop) PIECES[BISHOP][getIndex(alliance, tile, isFirstMove)];
+    }
+
+    public static Rook getRook(final Alliance alliance, final int tile, final boolean isFirstMove) {
+        return (Rook) PIECES[ROOK][getIndex(alliance, tile, isFirstMove)];
+    }
+
+    public static Queen getQueen(final Alliance alliance, final int tile, final boolean isFirstMove) {
+        return (Queen) PIECES[QUEEN][getIndex(alliance, tile, isFirstMove)];
+    }
+
+    public static King getKing(final Alliance alliance,
+                               final int tile,
+                               final boolean isFirstMove,
+                               final boolean isCastled,
+                               final boolean kingSideCastleCapable,
+                               final boolean queenSideCastleCapable) {
+        return (King) PIECES[KING][getIndex(alliance, tile, isFirstMove) * KING_FLAG_STATES +
+                getKingFlags(isCastled, kingSideCastleCapable, queenSideCastleCapable)];
+    }
+
+    //the shared piece of the given type, a king gets no castle flags
+    public static Piece getPiece(final PieceType pieceType, final Alliance alliance, final int tile, final boolean isFirstMove) {
+        final int flagStates = pieceType.isKing() ? KING_FLAG_STATES : 1;
+        return PIECES[pieceType.ordinal()][getIndex(alliance, tile, isFirstMove) * flagStates];
+    }
+
+    //the shared piece that looks the same as the given piece, a piece that is already shared is given back as it is
+    public static Piece intern(final Piece piece) {
+        return PIECES[piece.getPieceType().ordinal()][getIndex(piece)];
+    }
+
+    //the occupied tile of the shared piece that looks the same as the given piece, every board built from shared pieces uses
+    //these tiles so building a board does not make any tiles
+    static Tile getOccupiedTile(final Piece piece) {
+        return OCCUPIED_TILES[piece.getPieceType().ordinal()][getIndex(piece)];
+    }
+
+    private static Piece createPiece(final PieceType pieceType,
+                                     final Alliance alliance,
+                                     final int tile,
+                                     final boolean isFirstMove,
+                                     final int kingFlags) {
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(alliance, tile, isFirstMove);
+            case KNIGHT:
+                return new Knight(alliance, tile, isFirstMove);
+            case BISHOP:
+                return new Bishop(alliance, tile, isFirstMove);
+            case ROOK:
+                return new Rook(alliance, tile, isFirstMove);
+            case QUEEN:
+                return new Queen(alliance, tile, isFirstMove);
+            default:
+                return new King(alliance, tile, isFirstMove, (kingFlags & 1) != 0, (kingFlags & 2) != 0, (kingFlags & 4) != 0);
+        }
+    }
+
+    //the index of a piece in the table of its piece type
+    private static int getIndex(final Piece piece) {
+        final int index = getIndex(piece.getPieceAlliance(), piece.getPiecePosition(), piece.isFirstMove());
+        if (!piece.getPieceType().isKing()) {
+            return index;
+        }
+        final King king = (King) piece;
+        return index * KING_FLAG_STATES +
+               getKingFlags(king.isCastled(), king.isKingSideCastleCapable(), king.isQueenSideCastleCapable());
+    }
+
+    private static int getKingFlags(final boolean isCastled,
+                                    final boolean kingSideCastleCapable,
+                                    final boolean queenSideCastleCapable) {
+        return (isCastled ? 1 : 0) | (kingSideCastleCapable ? 2 : 0) | (queenSideCastleCapable ? 4 : 0);
+    }
+
+    private static int getIndex(final Alliance alliance, final int tile, final boolean isFirstMove) {
+        return ((alliance.isWhite() ? 0 : BoardUtils.NUM_TILES) + tile) * FIRST_MOVE_STATES + (isFirstMove ? 1 : 0);
+    }
+}
@@ -11,74 +11,138 @@ import chessProject.Piece.PieceType;
 //The abstract class pkayer which the black and white player classes inherit from
 public abstract class Player {
 	//The member variables of a player, the board, each player's respective king and the amount of legal moves they have,
-	//a boolean value is also used to see whether the king piece is being attacked
+	//a boolean value is also used to see whether the king piece is being attacked. The king, the legal moves and the check
+	//are worked out the first time they are asked for and kept for the rest of the life of the board
     protected final Board board;
-    protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    protected final boolean isInCheck;
-    //Within the constructor, we have the board and two collections of moves, the amount of legal moves that player has 
-    //and their oppopnent's legal moves. 
-    Player(final Board board,
-           final Collection<Move> playerLegals,
-           final Collection<Move> opponentLegals) {
+    private King playerKing;
+    private Collection<Move> legalMoves;
+    private MoveTable moveTable;
+    private LegalityChecker legalityChecker;
+    //null until the check is looked at, one field so the answer and whether it was worked out can not be seen out of order
+    private Boolean isInCheck;
+    private GameStatus gameStatus;
+    //Within the constructor we only keep the board, everything else is calculated when it is needed
+    Player(final Board board) {
         this.board = board;
-        //a function used to establish a king on either player's side
-        this.playerKing = establishKing();
-        //a function used to narrow down the meaning of a check which in this case we deduce whether the king is being attacked
-        //and this would mean the king is in check
-        this.isInCheck = !calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegals).isEmpty();
-        this.legalMoves = Collections.unmodifiableCollection(playerLegals);
-    }
-    //function used to check 
+    }
+    //function used to check whether the king is in check, we deduce whether the king is being attacked by looking the attack
+    //up on the bitboards of the board
     public boolean isInCheck() {
-        return this.isInCheck;
+        Boolean isInCheck = this.isInCheck;
+        if (isInCheck == null) {
+            isInCheck = this.board.isTileAttacked(getPlayerKing().getPiecePosition(), getOpponent().getAlliance());
+            this.isInCheck = isInCheck;
+        }
+        return isInCheck;
     }
     //function used to check for checkmate, like in real chess, checkmate occurs when the king is currently under check
     //and it has no where else to move or no legal moves to make. this results in a game over for the player.
     public boolean isInCheckMate() {
-       return this.isInCheck && !hasEscapeMoves();
+       return getGameStatus() == GameStatus.CHECKMATE;
     }
     //function used to check for stalemate, in chess a stalemate occurs when the king is not being checked. However, it is unable
     //to move because the tiles within its legal moves are being attacked and so it is unable to move. This is also a game over
     //for either player
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.STALEMATE;
+    }
+    //getter method for the status of the game from the side of this player, the check and the escape moves are only looked
+    //at the first time the status is asked for and the search for an escape move stops at the first one found
+    public GameStatus getGameStatus() {
+        GameStatus gameStatus = this.gameStatus;
+        if (gameStatus == null) {
+            final boolean hasEscapeMoves = hasEscapeMoves();
+            if (isInCheck()) {
+                gameStatus = hasEscapeMoves ? GameStatus.CHECK : GameStatus.CHECKMATE;
+            } else {
+                gameStatus = hasEscapeMoves ? GameStatus.IN_PROGRESS : GameStatus.STALEMATE;
+            }
+            this.gameStatus = gameStatus;
+        }
+        return gameStatus;
     }
     
     //function used to check if the king is castled
     public boolean isCastled() {
-        return this.playerKing.isCastled();
+        return getPlayerKing().isCastled();
     }
   //function used to check if the king can castle on its king side
     public boolean isKingSideCastleCapable() {
-        return this.playerKing.isKingSideCastleCapable();
+        return getPlayerKing().isKingSideCastleCapable();
     }
   //function used to check if the king can castle on its queen side
     public boolean isQueenSideCastleCapable() {
-        return this.playerKing.isQueenSideCastleCapable();
+        return getPlayerKing().isQueenSideCastleCapable();
     }
-    //getter method for the player king
+    //getter method for the player king, the king is found the first time it is asked for
     public King getPlayerKing() {
-        return this.playerKing;
+        King playerKing = this.playerKing;
+        if (playerKing == null) {
+            playerKing = establishKing();
+            this.playerKing = playerKing;
+        }
+        return playerKing;
     }
-    // a function used that runs through all the pieces and filters it by the piece type until it finds the king piece
-    //other wise it will throw a runtime exception if no piece is valid.
+    // a function used that finds the king piece on the tile of the king bitboard
+    //other wise it will throw a runtime exception if there is no king.
     private King establishKing() {
-        return (King) getActivePieces().stream()
-                                       .filter(piece -> piece.getPieceType() == PieceType.KING)
-                                       .findAny()
-                                       .orElseThrow(RuntimeException::new);
+        final long kingBitboard = this.board.getPieceBitboard(PieceType.KING, getAlliance());
+        if (kingBitboard == 0) {
+            throw new RuntimeException();
+        }
+        return (King) this.board.getTile(Long.numberOfTrailingZeros(kingBitboard)).getPiece();
     }
-    //a function which checks whether or not the king has any moves to escape an attack, it checks and compares the player's
-    //legal moves and checks whether any move is possible.
+    //a function which checks whether or not the king has any moves to escape an attack, it goes through the player's
+    //legal moves and asks the legality checker whether any of them keeps the king safe, no move is actually made.
     private boolean hasEscapeMoves() {
-        return this.legalMoves.stream()
-                              .anyMatch(move -> makeMove(move)
-                              .getMoveStatus().isDone());
+        final LegalityChecker checker = getLegalityChecker();
+        for (final Move move : getLegalMoves()) {
+            if (checker.isLegal(move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    //getter method for the legality checker of the player, it is created the first time it is asked for
+    public LegalityChecker getLegalityChecker() {
+        LegalityChecker legalityChecker = this.legalityChecker;
+        if (legalityChecker == null) {
+            legalityChecker = new LegalityChecker(this.board, getAlliance());
+            this.legalityChecker = legalityChecker;
+        }
+        return legalityChecker;
     }
-    //getter method for legal moves
+    //getter method for legal moves, the moves are calculated the first time they are asked for
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves == null) {
+            legalMoves = Collections.unmodifiableCollection(this.board.calculateLegalMoves(getActivePieces()));
+            this.legalMoves = legalMoves;
+        }
+        return legalMoves;
+    }
+    //getter method for the castle moves the player could make on this board, castling is not part of the legal moves so these
+    //are only used where a game played somewhere else is replayed, like a game loaded from a pgn file
+    public Collection<Move> getCastleMoves() {
+        return calculateKingCastles(getLegalMoves(), getOpponent().getLegalMoves());
+    }
+    //function used to find the legal move of the player from a tile to a tile, the promotion piece type is null for a move that
+    //does not promote a pawn. the move is looked up in the move table of the player and null is returned when there is no such move
+    public Move getMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionPieceType) {
+        return getMoveTable().getMove(currentCoordinate, destinationCoordinate, promotionPieceType);
+    }
+    //function used to check whether a move is one of the legal moves of the player without going through all of them
+    public boolean isLegalMove(final Move move) {
+        return getMoveTable().contains(move);
+    }
+    //getter method for the move table, the table is built from the legal moves the first time it is asked for
+    private MoveTable getMoveTable() {
+        MoveTable moveTable = this.moveTable;
+        if (moveTable == null) {
+            moveTable = new MoveTable(getLegalMoves());
+            this.moveTable = moveTable;
+        }
+        return moveTable;
     }
     //the function used to calculate the amount of attacks on a given tile, it checks whether a move is possible at the destination
     //tile which is the tile being attacked and then this legal move is filtered into a colllection of moves.
@@ -92,20 +156,18 @@ public abstract class Player {
     public MoveTransition makeMove(final Move move) {
     	//an if condition that asks that if the move attempted is one that is not contained within the legal moves, the move is deemed
     	//illegal and it cannot be made
-        if (!this.legalMoves.contains(move)) {
+        if (!isLegalMove(move)) {
             return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
         
+        //a move that would leave the player's own king in check cannot be made, the legality checker decides this from the
+        //pins and checks on the current board so a board is only built for moves that are actually made
+        if (!getLegalityChecker().isLegal(move)) {
+            return new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        }
         //whenever a move is made on our chessboard, what actually happens is that the pieces are redrawn 
         //and the board with it to show the new position
-        final Board transitionedBoard = move.execute();
-        
-        //here a ternary expression is used to check whether the opponent is in check, in chess if you check your opponent
-        //it is considered a special game state where the opponent player has to prevent the attack on the king and no other
-        //piece can move.
-        return transitionedBoard.currentPlayer().getOpponent().isInCheck() ?
-                new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK) :
-                new MoveTransition(this.board, transitionedBoard, move, MoveStatus.DONE);
+        return new MoveTransition(this.board, move.execute(), move, MoveStatus.DONE);
     }
 
 
@@ -121,8 +183,8 @@ public abstract class Player {
     //a function that checks whether a castle is possible by checking whether or not the king is in check or already castled.
     //if neither have happened, it checks whether the castle is possible on the king side or the queen side of the board.
     protected boolean hasCastleOpportunities() {
-        return !this.isInCheck && !this.playerKing.isCastled() &&
-                (this.playerKing.isKingSideCastleCapable() || this.playerKing.isQueenSideCastleCapable());
+        return !isInCheck() && !getPlayerKing().isCastled() &&
+                (getPlayerKing().isKingSideCastleCapable() || getPlayerKing().isQueenSideCastleCapable());
     }
 
 }
@@ -0,0 +1,410 @@
+package chessProject;
+
+import java.util.Arrays;
+
+import chessProject.Piece.PieceType;
+//A mutable board made for searching. The board class creates a whole new board for every move, which is fine for the gui and
+//the move history but far too slow when millions of positions are visited. This board is changed in place instead: making a
+//move pushes a small undo record on a stack and unmaking the move pops the record and puts everything back, so walking the
+//tree does not allocate anything. The rules are the same as the ones of the board class, a pawn only promotes to a queen and
+//castling moves are not generated.
+//
+//The moves are packed into ints as described by the packed move class and are written into int arrays or move lists.
+public final class SearchBoard {
+
+    //the most moves any position can have
+    public static final int MAX_MOVES = 256;
+
+    //the value on a tile without a piece, every other tile holds the index of the bitboard of its piece
+    public static final int NO_PIECE = -1;
+
+    //the castling rights, each one is a copy of a castle flag of one of the kings
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+    private static final PieceType[] PIECE_TYPE_VALUES = PieceType.values();
+    private static final int PIECE_TYPES = PIECE_TYPE_VALUES.length;
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int KING = PieceType.KING.ordinal();
+    private static final Alliance[] ALLIANCES = {Alliance.WHITE, Alliance.BLACK};
+    private static final int INITIAL_UNDO_CAPACITY = 256;
+
+    //the layout of an undo record, next to the move it keeps everything a move can not give back by itself
+    private static final int UNDO_CAPTURED_PIECE_SHIFT = 16;
+    private static final int UNDO_EN_PASSANT_SHIFT = 20;
+    private static final int UNDO_CASTLING_SHIFT = 27;
+    private static final long UNDO_MOVED_FIRST_MOVE = 1L << 31;
+    private static final long UNDO_CAPTURED_FIRST_MOVE = 1L << 32;
+
+    //a bitboard for every piece type of every side in the same order as the board class, the occupancy of each side
+    //and the piece on every tile so the piece on a tile does not have to be searched for in the bitboards
+    private final long[] pieceBitboards;
+    private final long[] occupancies;
+    private final int[] pieces;
+    //the side to move, 0 for white and 1 for black
+    private int sideToMove;
+    //the tile of the pawn that has just jumped and can be taken en passant, -1 when there is no such pawn
+    private int enPassantPawnTile;
+    private int castlingRights;
+    //the tiles with a piece that still has its first move
+    private long firstMoveTiles;
+    //the zobrist key of the position, it is updated with every move instead of being worked out again
+    private long zobristKey;
+    private long[] undoStack;
+    //the zobrist key from before every move that can still be unmade
+    private long[] keyStack;
+    private int undoCount;
+    //the builder used for every board the search board creates, it is reset before each board
+    private final Board.Builder boardBuilder;
+
+    //creates a search board with the same position as the board
+    public SearchBoard(final Board board) {
+        this.pieceBitboards = new long[BitBoardUtils.NUM_PIECE_BITBOARDS];
+        this.occupancies = new long[ALLIANCES.length];
+        this.pieces = new int[BoardUtils.NUM_TILES];
+        this.undoStack = new long[INITIAL_UNDO_CAPACITY];
+        this.keyStack = new long[INITIAL_UNDO_CAPACITY];
+        this.boardBuilder = new Board.Builder();
+        setPosition(board);
+    }
+
+    //replaces the position of the search board with the position of the board and forgets every move made so far
+    public void setPosition(final Board board) {
+        Arrays.fill(this.pieceBitboards, 0L);
+        Arrays.fill(this.occupancies, 0L);
+        Arrays.fill(this.pieces, NO_PIECE);
+        this.firstMoveTiles = 0L;
+        this.castlingRights = 0;
+        for (final Piece piece : board.getAllPieces()) {
+            final int tile = piece.getPiecePosition();
+            addPiece(BitBoardUtils.getPieceIndex(piece.getPieceType(), piece.getPieceAlliance()), tile);
+            if (piece.isFirstMove()) {
+                this.firstMoveTiles |= BitBoardUtils.tileMask(tile);
+            }
+            if (piece.getPieceType().isKing()) {
+                final King king = (King) piece;
+                final boolean isWhite = king.getPieceAlliance().isWhite();
+                if (king.isKingSideCastleCapable()) {
+                    this.castlingRights |= isWhite ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE;
+                }
+                if (king.isQueenSideCastleCapable()) {
+                    this.castlingRights |= isWhite ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE;
+                }
+            }
+        }
+        this.sideToMove = board.currentPlayer().getAlliance().isWhite() ? 0 : 1;
+        this.enPassantPawnTile = board.getEnPassantPawnTile();
+        this.zobristKey = board.getZobristKey();
+        this.undoCount = 0;
+    }
+
+    //creates a board with the current position of the search board, this is how a position found by a search is handed
+    //back to the rest of the program
+    public Board toBoard() {
+        final Board.Builder builder = this.boardBuilder.reset();
+        Pawn enPassantPawn = null;
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            if (this.pieces[tile] != NO_PIECE) {
+                final Piece piece = createPiece(this.pieces[tile], tile);
+                builder.setPiece(piece);
+                if (tile == this.enPassantPawnTile) {
+                    enPassantPawn = (Pawn) piece;
+                }
+            }
+        }
+        builder.setEnPassantPawn(enPassantPawn);
+        builder.setMoveMaker(getSideToMove());
+        return builder.build();
+    }
+
+    //gets the shared piece on a tile of the search board
+    private Piece createPiece(final int piece, final int tile) {
+        final Alliance alliance = ALLIANCES[piece / PIECE_TYPES];
+        final boolean isFirstMove = BitBoardUtils.isTileSet(this.firstMoveTiles, tile);
+        final PieceType pieceType = PIECE_TYPE_VALUES[piece % PIECE_TYPES];
+        if (!pieceType.isKing()) {
+            return PieceUtils.getPiece(pieceType, alliance, tile, isFirstMove);
+        }
+        final boolean isWhite = alliance.isWhite();
+        return PieceUtils.getKing(alliance, tile, isFirstMove, false,
+                (this.castlingRights & (isWhite ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE)) != 0,
+                (this.castlingRights & (isWhite ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE)) != 0);
+    }
+
+    //getter method for the side to move
+    public Alliance getSideToMove() {
+        return ALLIANCES[this.sideToMove];
+    }
+
+    //getter method for the piece on a tile, the piece is given as the index of its bitboard or NO_PIECE
+    public int getPiece(final int tileCoordinate) {
+        return this.pieces[tileCoordinate];
+    }
+
+    //getter method for the bitboard of a piece type of a side
+    public long getPieceBitboard(final PieceType pieceType, final Alliance alliance) {
+        return this.pieceBitboards[BitBoardUtils.getPieceIndex(pieceType, alliance)];
+    }
+
+    //getter method for the tiles occupied by a side
+    public long getOccupancy(final Alliance alliance) {
+        return this.occupancies[alliance.isWhite() ? 0 : 1];
+    }
+
+    //getter method for the tiles occupied by either side
+    public long getAllOccupancy() {
+        return this.occupancies[0] | this.occupancies[1];
+    }
+
+    //getter method for the tile of the pawn that can be taken en passant, -1 when there is none
+    public int getEnPassantPawnTile() {
+        return this.enPassantPawnTile;
+    }
+
+    //getter method for the castling rights
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    //getter method for the zobrist key of the position, it is the same key the board class gives the position
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    //the number of moves made on the board that can still be unmade
+    public int getPly() {
+        return this.undoCount;
+    }
+
+    //checks whether the king of the side to move is attacked
+    public boolean isInCheck() {
+        return isKingAttacked(this.sideToMove);
+    }
+
+    //checks whether a tile is attacked by a side
+    public boolean isTileAttacked(final int tileCoordinate, final Alliance attackingAlliance) {
+        return BitBoardUtils.isTileAttacked(this.pieceBitboards, getAllOccupancy(), tileCoordinate, attackingAlliance);
+    }
+
+    private boolean isKingAttacked(final int side) {
+        final long king = this.pieceBitboards[side * PIECE_TYPES + KING];
+        return king != 0 && BitBoardUtils.isTileAttacked(this.pieceBitboards, getAllOccupancy(),
+                Long.numberOfTrailingZeros(king), ALLIANCES[side ^ 1]);
+    }
+
+    //clears the move list and fills it with the moves of the side to move, the moves may still leave the king in check
+    public void generateMoves(final MoveList moveList) {
+        moveList.clear();
+        moveList.setSize(generateMoves(moveList.ensureCapacity(MAX_MOVES), 0));
+    }
+
+    //writes the moves of the side to move into the array starting at the given index and returns the index after the last move.
+    //the moves follow the rules of the pieces but may still leave the king in check, making the move tells whether it does
+    public int generateMoves(final int[] moves, final int startIndex) {
+        int index = startIndex;
+        final int us = this.sideToMove;
+        final long ownOccupancy = this.occupancies[us];
+        final long opponentOccupancy = this.occupancies[us ^ 1];
+        final long allOccupancy = ownOccupancy | opponentOccupancy;
+        index = generatePawnMoves(moves, index, opponentOccupancy, allOccupancy);
+        for (long knights = this.pieceBitboards[us * PIECE_TYPES + KNIGHT]; knights != 0; knights &= knights - 1) {
+            final int tile = Long.numberOfTrailingZeros(knights);
+            index = addMoves(moves, index, tile, BitBoardUtils.getKnightAttacks(tile) & ~ownOccupancy, opponentOccupancy);
+        }
+        for (long bishops = this.pieceBitboards[us * PIECE_TYPES + BISHOP]; bishops != 0; bishops &= bishops - 1) {
+            final int tile = Long.numberOfTrailingZeros(bishops);
+            index = addMoves(moves, index, tile, BitBoardUtils.getBishopAttacks(tile, allOccupancy) & ~ownOccupancy,
+                    opponentOccupancy);
+        }
+        for (long rooks = this.pieceBitboards[us * PIECE_TYPES + ROOK]; rooks != 0; rooks &= rooks - 1) {
+            final int tile = Long.numberOfTrailingZeros(rooks);
+            index = addMoves(moves, index, tile, BitBoardUtils.getRookAttacks(tile, allOccupancy) & ~ownOccupancy,
+                    opponentOccupancy);
+        }
+        for (long queens = this.pieceBitboards[us * PIECE_TYPES + QUEEN]; queens != 0; queens &= queens - 1) {
+            final int tile = Long.numberOfTrailingZeros(queens);
+            index = addMoves(moves, index, tile, (BitBoardUtils.getBishopAttacks(tile, allOccupancy) |
+                    BitBoardUtils.getRookAttacks(tile, allOccupancy)) & ~ownOccupancy, opponentOccupancy);
+        }
+        for (long king = this.pieceBitboards[us * PIECE_TYPES + KING]; king != 0; king &= king - 1) {
+            final int tile = Long.numberOfTrailingZeros(king);
+            index = addMoves(moves, index, tile, BitBoardUtils.getKingAttacks(tile) & ~ownOccupancy, opponentOccupancy);
+        }
+        return index;
+    }
+
+    //adds a move to every destination, the destinations holding an opponent piece become attack moves
+    private static int addMoves(final int[] moves,
+                                final int startIndex,
+                                final int currentCoordinate,
+                                final long destinations,
+                                final long opponentOccupancy) {
+        int index = startIndex;
+        for (long remaining = destinations; remaining != 0; remaining &= remaining - 1) {
+            final int destination = Long.numberOfTrailingZeros(remaining);
+            final boolean isAttack = BitBoardUtils.isTileSet(opponentOccupancy, destination);
+            moves[index++] = PackedMove.create(currentCoordinate, destination,
+                    isAttack ? PackedMove.ATTACK_MOVE : PackedMove.QUIET_MOVE);
+        }
+        return index;
+    }
+
+    //the pawn moves follow the pawn class: one tile forward, a jump from the starting rank while the pawn has its first move,
+    //the diagonal attacks including en passant, and a promotion whenever the pawn reaches the last rank
+    private int generatePawnMoves(final int[] moves, final int startIndex, final long opponentOccupancy, final long allOccupancy) {
+        int index = startIndex;
+        final Alliance alliance = ALLIANCES[this.sideToMove];
+        final int forward = alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        final boolean[] startingRank = alliance.isWhite() ? BoardUtils.SECOND_RANK : BoardUtils.SEVENTH_RANK;
+        for (long pawns = this.pieceBitboards[this.sideToMove * PIECE_TYPES + PAWN]; pawns != 0; pawns &= pawns - 1) {
+            final int tile = Long.numberOfTrailingZeros(pawns);
+            final int oneForward = tile + forward;
+            if (BoardUtils.isValidTileCoordinate(oneForward) && !BitBoardUtils.isTileSet(allOccupancy, oneForward)) {
+                moves[index++] = PackedMove.create(tile, oneForward,
+                        alliance.isPawnPromotionSquare(oneForward) ? PackedMove.PAWN_PROMOTION : PackedMove.QUIET_MOVE);
+                final int twoForward = oneForward + forward;
+                if (startingRank[tile] && BitBoardUtils.isTileSet(this.firstMoveTiles, tile) &&
+                    !BitBoardUtils.isTileSet(allOccupancy, twoForward)) {
+                    moves[index++] = PackedMove.create(tile, twoForward, PackedMove.PAWN_JUMP);
+                }
+            }
+            final long attacks = BitBoardUtils.getPawnAttacks(tile, alliance);
+            for (long targets = attacks & opponentOccupancy; targets != 0; targets &= targets - 1) {
+                final int destination = Long.numberOfTrailingZeros(targets);
+                moves[index++] = PackedMove.create(tile, destination, alliance.isPawnPromotionSquare(destination) ?
+                        PackedMove.PAWN_ATTACK_PROMOTION : PackedMove.ATTACK_MOVE);
+            }
+            //the pawn that has just jumped is taken by moving behind it, it has to stand right next to our pawn
+            if (this.enPassantPawnTile != -1 && this.pieces[this.enPassantPawnTile] / PIECE_TYPES != this.sideToMove) {
+                final int destination = this.enPassantPawnTile + forward;
+                if (BitBoardUtils.isTileSet(attacks, destination) && Math.abs(this.enPassantPawnTile - tile) == 1) {
+                    moves[index++] = PackedMove.create(tile, destination, PackedMove.EN_PASSANT_ATTACK_MOVE);
+                }
+            }
+        }
+        return index;
+    }
+
+    //makes a move on the board. When the move leaves the king of the moving side in check the move is taken back again and false
+    //is returned, otherwise the move stays made until it is unmade
+    public boolean makeMove(final int move) {
+        final int currentCoordinate = PackedMove.getCurrentCoordinate(move);
+        final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+        final int moveKind = PackedMove.getMoveKind(move);
+        final int us = this.sideToMove;
+        final int movedPiece = this.pieces[currentCoordinate];
+        final int capturedTile = moveKind == PackedMove.EN_PASSANT_ATTACK_MOVE ? this.enPassantPawnTile : destinationCoordinate;
+        final int capturedPiece = this.pieces[capturedTile];
+        //the undo record
+        long undo = move | ((long) (capturedPiece + 1) << UNDO_CAPTURED_PIECE_SHIFT) |
+                    ((long) (this.enPassantPawnTile + 1) << UNDO_EN_PASSANT_SHIFT) |
+                    ((long) this.castlingRights << UNDO_CASTLING_SHIFT);
+        if (BitBoardUtils.isTileSet(this.firstMoveTiles, currentCoordinate)) {
+            undo |= UNDO_MOVED_FIRST_MOVE;
+        }
+        if (capturedPiece != NO_PIECE && BitBoardUtils.isTileSet(this.firstMoveTiles, capturedTile)) {
+            undo |= UNDO_CAPTURED_FIRST_MOVE;
+        }
+        if (this.undoCount == this.undoStack.length) {
+            this.undoStack = Arrays.copyOf(this.undoStack, this.undoStack.length * 2);
+            this.keyStack = Arrays.copyOf(this.keyStack, this.keyStack.length * 2);
+        }
+        this.keyStack[this.undoCount] = this.zobristKey;
+        this.undoStack[this.undoCount++] = undo;
+        //the key loses the en passant pawn and the castling rights from before the move, they are put back in below
+        long key = this.zobristKey ^ Zobrist.getBlackToMoveKey() ^ Zobrist.getCastlingKey(this.castlingRights);
+        if (this.enPassantPawnTile != -1) {
+            key ^= Zobrist.getEnPassantKey(this.enPassantPawnTile);
+        }
+        //the captured piece leaves the board
+        if (capturedPiece != NO_PIECE) {
+            key ^= Zobrist.getPieceKey(capturedPiece, capturedTile);
+            removePiece(capturedPiece, capturedTile);
+            this.firstMoveTiles &= ~BitBoardUtils.tileMask(capturedTile);
+        }
+        //the moved piece is a new piece just like the one piece.movePiece creates, only a moved king loses its first move
+        //and its castle flags
+        final int placedPiece = PackedMove.isPromotion(move) ?
+                us * PIECE_TYPES + PackedMove.getPromotionPieceType(move).ordinal() : movedPiece;
+        key ^= Zobrist.getPieceKey(movedPiece, currentCoordinate) ^ Zobrist.getPieceKey(placedPiece, destinationCoordinate);
+        removePiece(movedPiece, currentCoordinate);
+        addPiece(placedPiece, destinationCoordinate);
+        this.firstMoveTiles &= ~BitBoardUtils.tileMask(currentCoordinate);
+        if (movedPiece % PIECE_TYPES == KING) {
+            this.firstMoveTiles &= ~BitBoardUtils.tileMask(destinationCoordinate);
+            this.castlingRights &= us == 0 ? ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE) :
+                                             ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        } else {
+            this.firstMoveTiles |= BitBoardUtils.tileMask(destinationCoordinate);
+        }
+        this.enPassantPawnTile = moveKind == PackedMove.PAWN_JUMP ? destinationCoordinate : -1;
+        this.sideToMove = us ^ 1;
+        key ^= Zobrist.getCastlingKey(this.castlingRights);
+        if (this.enPassantPawnTile != -1) {
+            key ^= Zobrist.getEnPassantKey(this.enPassantPawnTile);
+        }
+        this.zobristKey = key;
+        if (isKingAttacked(us)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    //takes back the last move that was made
+    public void unmakeMove() {
+        final long undo = this.undoStack[--this.undoCount];
+        final int move = (int) (undo & 0xFFFF);
+        final int currentCoordinate = PackedMove.getCurrentCoordinate(move);
+        final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+        final int capturedPiece = (int) ((undo >>> UNDO_CAPTURED_PIECE_SHIFT) & 0xF) - 1;
+        this.zobristKey = this.keyStack[this.undoCount];
+        this.enPassantPawnTile = (int) ((undo >>> UNDO_EN_PASSANT_SHIFT) & 0x7F) - 1;
+        this.castlingRights = (int) ((undo >>> UNDO_CASTLING_SHIFT) & 0xF);
+        this.sideToMove ^= 1;
+        final int us = this.sideToMove;
+        //the moved piece goes back, a promoted queen turns back into the pawn
+        final int pieceOnDestination = this.pieces[destinationCoordinate];
+        removePiece(pieceOnDestination, destinationCoordinate);
+        addPiece(PackedMove.isPromotion(move) ? us * PIECE_TYPES + PAWN : pieceOnDestination, currentCoordinate);
+        this.firstMoveTiles &= ~BitBoardUtils.tileMask(destinationCoordinate);
+        if ((undo & UNDO_MOVED_FIRST_MOVE) != 0) {
+            this.firstMoveTiles |= BitBoardUtils.tileMask(currentCoordinate);
+        }
+        //the captured piece comes back, a pawn taken en passant stands on the tile of the en passant pawn
+        if (capturedPiece != NO_PIECE) {
+            final int capturedTile = PackedMove.getMoveKind(move) == PackedMove.EN_PASSANT_ATTACK_MOVE ?
+                    this.enPassantPawnTile : destinationCoordinate;
+            addPiece(capturedPiece, capturedTile);
+            if ((undo & UNDO_CAPTURED_FIRST_MOVE) != 0) {
+                this.firstMoveTiles |= BitBoardUtils.tileMask(capturedTile);
+            }
+        }
+    }
+
+    private void addPiece(final int piece, final int tile) {
+        final long mask = BitBoardUtils.tileMask(tile);
+        this.pieceBitboards[piece] |= mask;
+        this.occupancies[piece / PIECE_TYPES] |= mask;
+        this.pieces[tile] = piece;
+    }
+
+    private void removePiece(final int piece, final int tile) {
+        final long mask = ~BitBoardUtils.tileMask(tile);
+        this.pieceBitboards[piece] &= mask;
+        this.occupancies[piece / PIECE_TYPES] &= mask;
+        this.pieces[tile] = NO_PIECE;
+    }
+
+    //the same text layout as the board class uses
+    @Override
+    public String toString() {
+        return toBoard().toString();
+    }
+}
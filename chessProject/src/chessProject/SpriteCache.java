@@ -0,0 +1,139 @@
+package chessProject;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+//A utility class with the images of the gui. The twelve piece images and the highlight image are read once when the class
+//is loaded, from the class path when the art is packed with the classes and from the art folder in the working directory
+//otherwise, so drawing the board never reads a file. The images are copied into images of the same format as the screen,
+//which can be drawn without converting them every time. An image scaled to a size is made the first time that size is asked
+//for and kept for every later drawing at that size.
+public final class SpriteCache {
+
+    private static final String PIECE_IMAGES_PATH = "art/pieces/";
+    private static final String HIGHLIGHT_IMAGE_PATH = "art/misc/green_dot.png";
+    private static final int PIECE_IMAGES = 2 * Piece.PieceType.values().length;
+    //the highlight image comes after the piece images
+    private static final int HIGHLIGHT = PIECE_IMAGES;
+
+    private static final BufferedImage[] IMAGES = new BufferedImage[PIECE_IMAGES + 1];
+    private static final ImageIcon[] ICONS = new ImageIcon[PIECE_IMAGES + 1];
+    private static final Map<Integer, BufferedImage[]> SCALED_IMAGES = new ConcurrentHashMap<>();
+
+    static {
+        for (final Alliance alliance : new Alliance[] {Alliance.WHITE, Alliance.BLACK}) {
+            for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+                //the files are named after the first letter of the side and the letter of the piece, like WH.png for a white knight
+                final int index = getIndex(alliance, pieceType);
+                IMAGES[index] = loadImage(PIECE_IMAGES_PATH + alliance.toString().substring(0, 1) + pieceType + ".png");
+                ICONS[index] = new ImageIcon(IMAGES[index]);
+            }
+        }
+        IMAGES[HIGHLIGHT] = loadImage(HIGHLIGHT_IMAGE_PATH);
+        ICONS[HIGHLIGHT] = new ImageIcon(IMAGES[HIGHLIGHT]);
+    }
+
+    //Constructor for the sprite cache, a runtime exception is used if the class is initiated.
+    private SpriteCache() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //getter methods for the image of a piece at the size it was drawn in
+    public static BufferedImage getPieceImage(final Piece piece) {
+        return IMAGES[getIndex(piece.getPieceAlliance(), piece.getPieceType())];
+    }
+
+    public static ImageIcon getPieceIcon(final Piece piece) {
+        return ICONS[getIndex(piece.getPieceAlliance(), piece.getPieceType())];
+    }
+
+    //the image of a piece scaled to fit in a square of the given size
+    public static BufferedImage getPieceImage(final Piece piece, final int size) {
+        return getScaledImages(size)[getIndex(piece.getPieceAlliance(), piece.getPieceType())];
+    }
+
+    //getter methods for the image drawn on the tiles a piece can move to
+    public static BufferedImage getHighlightImage() {
+        return IMAGES[HIGHLIGHT];
+    }
+
+    public static ImageIcon getHighlightIcon() {
+        return ICONS[HIGHLIGHT];
+    }
+
+    //the highlight image scaled to fit in a square of the given size
+    public static BufferedImage getHighlightImage(final int size) {
+        return getScaledImages(size)[HIGHLIGHT];
+    }
+
+    private static int getIndex(final Alliance alliance, final Piece.PieceType pieceType) {
+        return pieceType.ordinal() + (alliance.isWhite() ? 0 : Piece.PieceType.values().length);
+    }
+
+    //every image scaled to a size, the images of a size are all made the first time the size is asked for
+    private static BufferedImage[] getScaledImages(final int size) {
+        if (size <= 0) {
+            throw new RuntimeException("Images can not be scaled to a size of " + size + "!");
+        }
+        return SCALED_IMAGES.computeIfAbsent(size, newSize -> {
+            final BufferedImage[] scaledImages = new BufferedImage[IMAGES.length];
+            for (int i = 0; i < IMAGES.length; i++) {
+                scaledImages[i] = scaleImage(IMAGES[i], newSize);
+            }
+            return scaledImages;
+        });
+    }
+
+    private static BufferedImage scaleImage(final BufferedImage image, final int size) {
+        final double scale = Math.min((double) size / image.getWidth(), (double) size / image.getHeight());
+        final int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        final int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        final BufferedImage scaledImage = createCompatibleImage(width, height);
+        final Graphics2D graphics = scaledImage.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaledImage;
+    }
+
+    //reads an image from the class path, or from the file system when it is not on the class path, and copies it into an
+    //image of the format of the screen
+    private static BufferedImage loadImage(final String path) {
+        try {
+            final URL resource = SpriteCache.class.getResource("/" + path);
+            final BufferedImage image = resource != null ? ImageIO.read(resource) : ImageIO.read(new File(path));
+            if (image == null) {
+                throw new RuntimeException("The image " + path + " is not in a format that can be read!");
+            }
+            final BufferedImage compatibleImage = createCompatibleImage(image.getWidth(), image.getHeight());
+            final Graphics2D graphics = compatibleImage.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+            return compatibleImage;
+        } catch (final IOException e) {
+            throw new RuntimeException("The image " + path + " could not be read!", e);
+        }
+    }
+
+    //an image with transparency in the format of the screen, without a screen the format java draws fastest is used
+    private static BufferedImage createCompatibleImage(final int width, final int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        final GraphicsConfiguration configuration =
+                GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+}
@@ -1,17 +1,23 @@
 package chessProject;
 
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import chessProject.Board.Builder;
+import chessProject.database.GameDatabase;
+import chessProject.database.PositionIndex;
+import chessProject.engine.ParallelSearch;
+import chessProject.pgn.PGNGame;
+import chessProject.pgn.PGNReader;
+import chessProject.pgn.PGNUtilities;
 
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -30,8 +36,10 @@ public class Table {
     private final GameHistoryPanel gameHistoryPanel;
     //a panel that shows which pieces were taken on the board
     private final TakenPiecesPanel takenPiecesPanel;
-    //the panel used to display the board
+    //the panel used to display the board and the single component that can draw the board instead of it
     private final BoardPanel boardPanel;
+    private final BoardComponent boardComponent;
+    private boolean useBoardComponent;
     //a log of moves which is used for the game history
     private final MoveLog moveLog;
     //the chessboard
@@ -45,15 +53,23 @@ public class Table {
     //the board direction
     private BoardDirection boardDirection;
     private boolean highLightlegalMoves;
+    //makes the moves of the user and the computer on a background thread and hands the boards back to the gui
+    private final GameController gameController;
+    //the game database that is open and the index of the positions of its games, the index is null until it is built
+    private GameDatabase gameDatabase;
+    private PositionIndex positionIndex;
+    //the background build of the position index of the open database, null when no index is being built, and the reason the
+    //last build failed, null when it did not fail
+    private PositionIndexBuilder positionIndexBuilder;
+    private String positionIndexError;
     //the window dimensions for the gui program
     private final static Dimension OUTER_FRAME_DIMENSION=new Dimension(900, 800);
     //the dimensions for the chess board panel
     private final static Dimension BOARD_PANEL_DIMENTION=new Dimension(400, 350);
     //the dimensions for each tile on the board
     private final static Dimension TILE_PANEL_DIMENSION=new Dimension(50,50);
-    //the path for the piece icons 
-    private static String defaultPieceImagesPath="art/pieces/";
-    private static String HighlightPath="art/misc/green_dot.png";
+    //the time the computer gets to think about a move in milliseconds
+    private final static long COMPUTER_THINKING_TIME=2000;
     //the default colors of the light and dark squares
     private final Color lightTileColor=Color.decode("#eeeed2");
     private final Color darkTileColor=Color.decode("#769656");
@@ -68,29 +84,58 @@ public class Table {
         this.gameHistoryPanel = new GameHistoryPanel();
         this.takenPiecesPanel = new TakenPiecesPanel();
         this.boardPanel=new BoardPanel();
+        this.boardComponent=new BoardComponent();
+        this.boardComponent.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(final MouseEvent e) {
+                final int tileId = boardComponent.getTileAt(e.getPoint());
+                if (tileId >= 0) {
+                    handleTileClick(tileId, e);
+                }
+            }
+        });
+        this.useBoardComponent=false;
         this.moveLog = new MoveLog();
         this.boardDirection=BoardDirection.NORMAL;
         this.highLightlegalMoves= false;
+        //the computer thinks with every core of the machine
+        this.gameController=new GameController(new ParallelSearch.Builder().setTimeLimit(COMPUTER_THINKING_TIME).build(),
+                new GameController.MoveListener() {
+            @Override
+            public void moveMade(final Move move, final Board toBoard) {
+                chessBoard = toBoard;
+                moveLog.addMove(move, chessBoard);
+                gameHistoryPanel.redo(moveLog);
+                takenPiecesPanel.redo(moveLog);
+                drawBoard(chessBoard);
+            }
+        });
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
         this.gameFrame.add(this.gameHistoryPanel, BorderLayout.EAST);
         this.gameFrame.setVisible(true);
     }
-    //the top bar of the gui known as the menu, it has a file menu and a preferences menu
+    //the top bar of the gui known as the menu, it has a file menu, a preferences menu and a computer menu
     private JMenuBar createTableMenuBar() {
         final JMenuBar tableMenuBar=new JMenuBar();
         tableMenuBar.add(createFileMenu());
         tableMenuBar.add(createPreferencesMenu());
+        tableMenuBar.add(createComputerMenu());
+        tableMenuBar.add(createDatabaseMenu());
         return tableMenuBar;
     }
-    //planned feature to add chess games by pgn file which is used to import pre-existing games of chess
+    //the file menu, here a game can be loaded from a pgn file which is used to import pre-existing games of chess
     private JMenu createFileMenu() {
         final JMenu fileMenu=new JMenu("File");
         final JMenuItem openPGN= new JMenuItem("Load PGN File");
         openPGN.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent actionEvent) {
-                System.out.println("Open up that PGN file!");
+                final JFileChooser chooser = new JFileChooser();
+                chooser.setFileFilter(new FileNameExtensionFilter("PGN files", "pgn"));
+                if (chooser.showOpenDialog(gameFrame) == JFileChooser.APPROVE_OPTION) {
+                    loadPGNFile(chooser.getSelectedFile());
+                }
             }
         });
         fileMenu.add(openPGN);
@@ -114,7 +159,7 @@ public class Table {
             @Override
             public void actionPerformed(final ActionEvent e) {
                 boardDirection=boardDirection.opposite();
-                boardPanel.drawBoard(chessBoard);
+                drawBoard(chessBoard);
            }
         });
         preferencesMenu.add(flipBoardMenuItem);
@@ -129,8 +174,320 @@ public class Table {
         });
 
         preferencesMenu.add(legalMoveHighLighterCheckBox);
+        preferencesMenu.addSeparator();
+        //the board can be drawn by a single component that only repaints the tiles that changed, which keeps drawing fast
+        //over a slow remote desktop
+        final JCheckBoxMenuItem boardComponentCheckBox = new JCheckBoxMenuItem("Paint Board as One Component", false);
+        boardComponentCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                useBoardComponent = boardComponentCheckBox.isSelected();
+                gameFrame.remove(useBoardComponent ? boardPanel : boardComponent);
+                gameFrame.add(useBoardComponent ? boardComponent : boardPanel, BorderLayout.CENTER);
+                drawBoard(chessBoard);
+                gameFrame.validate();
+                gameFrame.repaint();
+            }
+        });
+        preferencesMenu.add(boardComponentCheckBox);
         return preferencesMenu;
     }
+    //the computer menu, here the computer can be set to play either side or both sides
+    private JMenu createComputerMenu(){
+        final JMenu computerMenu= new JMenu("Computer");
+        final JCheckBoxMenuItem computerPlaysWhiteCheckBox = new JCheckBoxMenuItem("Computer plays White", false);
+        computerPlaysWhiteCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameController.setComputerPlaysWhite(computerPlaysWhiteCheckBox.isSelected());
+                gameController.makeComputerMoves(chessBoard);
+            }
+        });
+        computerMenu.add(computerPlaysWhiteCheckBox);
+        final JCheckBoxMenuItem computerPlaysBlackCheckBox = new JCheckBoxMenuItem("Computer plays Black", false);
+        computerPlaysBlackCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameController.setComputerPlaysBlack(computerPlaysBlackCheckBox.isSelected());
+                gameController.makeComputerMoves(chessBoard);
+            }
+        });
+        computerMenu.add(computerPlaysBlackCheckBox);
+        return computerMenu;
+    }
+    //loads the first game of a pgn file, the file is read up to the end of that game so a file with many games is not read
+    //as a whole. the moves of the game are replayed from its starting board into the move log and the panels are drawn again,
+    //a game with a move our rules can not make is loaded up to that move
+    private void loadPGNFile(final File pgnFile) {
+        final PGNGame game;
+        try (PGNReader reader = PGNReader.open(pgnFile.toPath())) {
+            game = reader.readGame();
+        } catch (final IOException e) {
+            JOptionPane.showMessageDialog(this.gameFrame, "The file " + pgnFile.getName() + " could not be read: " + e.getMessage(),
+                    "Load PGN File", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (game == null) {
+            JOptionPane.showMessageDialog(this.gameFrame, "The file " + pgnFile.getName() + " has no games!",
+                    "Load PGN File", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        final PGNUtilities.ReplayedGame replayedGame = PGNUtilities.replay(game);
+        //a move of the old game that is still being made would land on the loaded game
+        gameController.cancel();
+        chessBoard = replayedGame.getBoard();
+        moveLog.clear();
+        final List<Move> moves = replayedGame.getMoves();
+        for (int i = 0; i < moves.size(); i++) {
+            //every move leads to the board of the move after it and the last one to the board of the replayed game
+            moveLog.addMove(moves.get(i), i + 1 < moves.size() ? moves.get(i + 1).getBoard() : replayedGame.getBoard());
+        }
+        sourceTile = null;
+        destinationTile = null;
+        humanMovedPiece = null;
+        gameHistoryPanel.redo(moveLog);
+        takenPiecesPanel.redo(moveLog);
+        drawBoard(chessBoard);
+        if (!replayedGame.isComplete()) {
+            JOptionPane.showMessageDialog(this.gameFrame, "The game " + game + " was loaded up to a move that can not be made. " +
+                    replayedGame.getError(), "Load PGN File", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+    //the database menu, here a game database can be opened, the game on the board can be saved to it and the games of the
+    //database that reached the position on the board can be looked up
+    private JMenu createDatabaseMenu(){
+        final JMenu databaseMenu= new JMenu("Database");
+        final JMenuItem openDatabaseMenuItem = new JMenuItem("Open Game Database");
+        openDatabaseMenuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                final JFileChooser chooser = new JFileChooser();
+                if (chooser.showOpenDialog(gameFrame) == JFileChooser.APPROVE_OPTION) {
+                    openGameDatabase(chooser.getSelectedFile());
+                }
+            }
+        });
+        databaseMenu.add(openDatabaseMenuItem);
+        final JMenuItem saveGameMenuItem = new JMenuItem("Save Game to Database");
+        saveGameMenuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                saveGameToDatabase();
+            }
+        });
+        databaseMenu.add(saveGameMenuItem);
+        final JMenuItem explorePositionMenuItem = new JMenuItem("Explore Position");
+        explorePositionMenuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                explorePosition();
+            }
+        });
+        databaseMenu.add(explorePositionMenuItem);
+        return databaseMenu;
+    }
+    //opens a game database and its position index. An index that was not built yet, or was built before games were added to
+    //the database, is built on a background thread since every game of the database has to be replayed for it
+    private void openGameDatabase(final File databaseFile) {
+        try {
+            closeGameDatabase();
+            gameDatabase = GameDatabase.open(databaseFile.toPath());
+            positionIndex = PositionIndex.openIfCurrent(gameDatabase);
+        } catch (final IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(this.gameFrame, "The game database " + databaseFile.getName() + " could not be opened: " +
+                    e.getMessage(), "Open Game Database", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (positionIndex == null) {
+            buildPositionIndex();
+        }
+    }
+    //starts building the position index of the open game database on a background thread
+    private void buildPositionIndex() {
+        positionIndexError = null;
+        positionIndexBuilder = new PositionIndexBuilder(gameDatabase);
+        positionIndexBuilder.execute();
+    }
+    //closes the open game database and its index. A database whose index is still being built is left to the builder, which
+    //stops at the next game and closes the database once its threads are done with it
+    private void closeGameDatabase() throws IOException {
+        positionIndexError = null;
+        if (positionIndexBuilder != null) {
+            positionIndexBuilder.abandon();
+            positionIndexBuilder = null;
+            gameDatabase = null;
+        }
+        if (positionIndex != null) {
+            positionIndex.close();
+            positionIndex = null;
+        }
+        if (gameDatabase != null) {
+            gameDatabase.close();
+            gameDatabase = null;
+        }
+    }
+    //adds the game of the move log to the open game database, the position index only has the games it was built with
+    private void saveGameToDatabase() {
+        if (gameDatabase == null) {
+            JOptionPane.showMessageDialog(this.gameFrame, "Open a game database first!", "Save Game to Database",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        try {
+            final int gameId = gameDatabase.addGame(moveLog);
+            JOptionPane.showMessageDialog(this.gameFrame, "The game was saved as game " + gameId + "!", "Save Game to Database",
+                    JOptionPane.INFORMATION_MESSAGE);
+        } catch (final IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(this.gameFrame, "The game could not be saved: " + e.getMessage(), "Save Game to Database",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    //shows how often the position on the board was reached in the games of the database and what was played next
+    private void explorePosition() {
+        if (positionIndex == null && positionIndexError != null) {
+            //the build failed, the user can try again after fixing what went wrong, like freeing memory or disk space
+            final int answer = JOptionPane.showConfirmDialog(this.gameFrame, "The positions of the game database could not be " +
+                    "indexed: " + positionIndexError + "\nIndex them again?", "Explore Position", JOptionPane.YES_NO_OPTION,
+                    JOptionPane.ERROR_MESSAGE);
+            if (answer == JOptionPane.YES_OPTION) {
+                buildPositionIndex();
+            }
+            return;
+        }
+        if (positionIndex == null) {
+            JOptionPane.showMessageDialog(this.gameFrame, gameDatabase == null ? "Open a game database first!" :
+                    "The positions of the game database are still being indexed!", "Explore Position",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        final StringBuilder text = new StringBuilder();
+        text.append("This position was reached ").append(positionIndex.countGames(chessBoard)).append(" times.\n");
+        for (final PositionIndex.MoveStatistics moveStatistics : positionIndex.getNextMoves(chessBoard)) {
+            text.append('\n').append(moveStatistics);
+        }
+        for (final PositionIndex.Occurrence occurrence : positionIndex.findGames(chessBoard, 10)) {
+            text.append("\n").append(gameDatabase.getGame(occurrence.getGameId())).append(", ply ").append(occurrence.getPly());
+        }
+        JOptionPane.showMessageDialog(this.gameFrame, new JScrollPane(new JTextArea(text.toString(), 20, 40)), "Explore Position",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+    //function used to handle a click on a tile of the board, it is the same for the tile panels and the board component.
+    //the first left click selects the piece to move and the second one moves it, a right click drops the selection
+    private void handleTileClick(final int tileId, final MouseEvent e) {
+        //here the right click button is used to de-select any tile by setting to null
+        if(isRightMouseButton(e)) {
+            sourceTile = null;
+            destinationTile = null;
+            humanMovedPiece = null;
+            drawSelection();
+        }
+        //if the click is a left mouse button, it retrieves the tile id and the piece, it checks whether that
+        //piece is on the board and valid to be moved or not. the pieces of a side the computer plays can not be moved
+        else if(isLeftMouseButton(e) && !gameController.isComputerTurn(chessBoard)) {
+            if (sourceTile == null) {
+                sourceTile = chessBoard.getTile(tileId);
+                humanMovedPiece = sourceTile.getPiece();
+                if (humanMovedPiece == null) {
+                    sourceTile = null;
+                }
+                drawSelection();
+            } else {
+                //the move from the selected tile to this one is checked and made by the game controller, which cancels
+                //whatever it was still doing for the board, like the computer thinking about its move. the board is drawn
+                //again with the move and the panels are updated once the move is made, a move that can not be made is dropped
+                destinationTile = chessBoard.getTile(tileId);
+                gameController.makeMove(chessBoard, sourceTile.getTileCoordinate(), tileId);
+                //the tiles and pieces are then reset to null so another move can be selected
+                sourceTile = null;
+                destinationTile = null;
+                humanMovedPiece = null;
+                paintBoard(chessBoard);
+            }
+        }
+    }
+    //builds the position index of a game database on a background thread. A builder that was abandoned because another
+    //database was opened stops early, and since done is only called after the build has returned it is the one place where
+    //the database can be closed without pulling it away from the threads that read it
+    private class PositionIndexBuilder extends SwingWorker<PositionIndex, Void> {
+        private final GameDatabase database;
+        private volatile boolean isAbandoned;
+        PositionIndexBuilder(final GameDatabase database) {
+            this.database = database;
+            this.isAbandoned = false;
+        }
+        void abandon() {
+            this.isAbandoned = true;
+        }
+        @Override
+        protected PositionIndex doInBackground() throws IOException {
+            return PositionIndex.build(this.database, PositionIndex.getIndexPath(this.database.getPath()),
+                                       Runtime.getRuntime().availableProcessors(), () -> this.isAbandoned);
+        }
+        @Override
+        protected void done() {
+            if (this.isAbandoned) {
+                try {
+                    get().close();
+                } catch (final Exception e) {
+                    //the build gave up or failed for a database that is not open any more
+                }
+                try {
+                    this.database.close();
+                } catch (final IOException e) {
+                    //there is nothing left to do with the database
+                }
+                return;
+            }
+            positionIndexBuilder = null;
+            try {
+                positionIndex = get();
+            } catch (final Exception e) {
+                //kept so explore position can tell why there is no index and offer to build it again
+                positionIndexError = e.getMessage();
+                JOptionPane.showMessageDialog(gameFrame, "The positions of " + this.database.getPath().getFileName() +
+                        " could not be indexed: " + positionIndexError, "Open Game Database", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+    //draws the board with whichever of the tile panels and the board component is shown, and tells the players when the
+    //game is over
+    private void drawBoard(final Board board) {
+        paintBoard(board);
+        checkMate();
+        staleMate();
+    }
+    private void paintBoard(final Board board) {
+        if (useBoardComponent) {
+            drawBoardComponent(board);
+        } else {
+            boardPanel.drawBoard(board);
+        }
+    }
+    //the board component only paints the tiles that changed, so it is drawn again whenever the selection changes as well.
+    //the tile panels keep showing the selection with the next move
+    private void drawSelection() {
+        if (useBoardComponent) {
+            drawBoardComponent(chessBoard);
+        }
+    }
+    private void drawBoardComponent(final Board board) {
+        long highlightedTiles = 0L;
+        if (highLightlegalMoves) {
+            for (final Move move : pieceLegalMoves(board)) {
+                highlightedTiles |= 1L << move.getDestinationCoordinate();
+            }
+        }
+        boardComponent.drawBoard(board, boardDirection == BoardDirection.FLIPPED,
+                                 sourceTile != null ? sourceTile.getTileCoordinate() : -1, highlightedTiles);
+    }
+    //function used to calculate a piece's legal moves
+    private Collection<Move> pieceLegalMoves(final Board board) {
+        //if alliance equals to the current player's alliance, then calculate legal moves
+        if(humanMovedPiece != null && humanMovedPiece.getPieceAlliance() == board.currentPlayer().getAlliance()) {
+            return humanMovedPiece.calculateLegalMoves(board);
+        }
+        return Collections.emptyList();
+    }
     //an enum used to define the direction of the board
     public enum BoardDirection{
     	//the normal direction of the board on starting the program
@@ -191,34 +548,64 @@ public class Table {
             }
             validate();
             repaint();
-            checkMate();
-            staleMate();
         }
     }
     //a class that is used to store the moves previously made by a player
     public static class MoveLog{
     	private final List<Move> moves;
+    	//the notation of every move, it is worked out once when the move is added so the history does not work it out again
+    	private final List<String> notations;
     	//functions used to get moves, add, return size,clear all moves, and remove moves by index or move
     	MoveLog(){
     		this.moves = new ArrayList<>();
+    		this.notations = new ArrayList<>();
     	}
     	public List<Move> getMoves(){
     		return this.moves;
     	}
+    	//adds a move without a check or checkmate mark in its notation
     	public void addMove(final Move move) {
     		this.moves.add(move);
+    		this.notations.add(move.toString());
+    	}
+    	//adds a move, the board the move leads to gives the + or # of a check or checkmate in its notation
+    	public void addMove(final Move move, final Board toBoard) {
+    		this.moves.add(move);
+    		this.notations.add(move.toString() + calculateCheckAndCheckMateHash(toBoard));
+    	}
+    	//getter method for the notation of the move at an index
+    	public String getNotation(final int index) {
+    		return this.notations.get(index);
     	}
     	public int size() {
     		return this.moves.size();
     	}
     	public void clear() {
     		this.moves.clear();
+    		this.notations.clear();
     	}
     	public Move removeMove(int index) {
+    		this.notations.remove(index);
     		return this.moves.remove(index);
     	}
     	public boolean removeMove(final Move move) {
-    		return this.moves.remove(move);
+    		final int index = this.moves.indexOf(move);
+    		if (index < 0) {
+    			return false;
+    		}
+    		removeMove(index);
+    		return true;
+    	}
+    	//here the move history will make a special symbol to signify if a certain move is a check/checkmate or a normal move
+    	//a normal move will have no symbol while a checkmate will have a # symbol and a check will have + symbol
+    	private static String calculateCheckAndCheckMateHash(final Board board) {
+    		final GameStatus gameStatus = board.getGameStatus();
+    		if(gameStatus == GameStatus.CHECKMATE) {
+    			return "#";
+    		} else if(gameStatus.isInCheck()) {
+    			return "+";
+    		}
+    		return "";
     	}
     }
     //the tile panel class where all of the tiles on the board are placed
@@ -237,57 +624,7 @@ public class Table {
             addMouseListener(new MouseListener() {
                 @Override
                 public void mouseClicked(final MouseEvent e) {
-                    //here the right click button is used to de-select any tile by setting to null
-                    if(isRightMouseButton(e)) {
-                        sourceTile = null;
-                        destinationTile = null;
-                        humanMovedPiece = null;
-                    }
-                    //if the click is a left mouse button, it retrieves the tile id and the piece, it checks whether that
-                    //piece is on the board and valid to be moved or not.
-                    else if(isLeftMouseButton(e)) {
-
-                        if (sourceTile == null) {
-
-                            
-                            sourceTile = chessBoard.getTile(tileId);
-                            
-
-                            humanMovedPiece = sourceTile.getPiece();
-
-                            if (humanMovedPiece == null) {
-                                
-                                sourceTile = null;
-                            }
-                        } else {
-
-                            //if the tile is valid, a move can then be made, a move can be created so the piece can move from its
-                        	//current tile to its destination
-                            destinationTile = chessBoard.getTile(tileId);            
-                            final Move move = Move.MoveFactory.createMove(chessBoard, sourceTile.getTileCoordinate(), tileId);
-                            final MoveTransition transition = chessBoard.currentPlayer().makeMove(move);
-                            //the move is then transitioned onto the new board and the player move is made
-                            //the move is also added to the movelog defined earlier
-                            if (transition.getMoveStatus().isDone()) {
-                            	chessBoard = transition.getToBoard();
-                            	moveLog.addMove(move);
-                            }
-                            //the tiles and pieces are then reset to null so another move can be selected
-                            sourceTile = null;
-                            destinationTile = null;
-                            humanMovedPiece = null;
-                            //here the GUI is updated so when an action is performed, the board is redrawd and the panels are updated
-                            SwingUtilities.invokeLater(new Runnable() {
-                                @Override
-                                public void run() {
-                                	gameHistoryPanel.redo(chessBoard, moveLog);
-                                	 takenPiecesPanel.redo(moveLog);
-                                    boardPanel.drawBoard(chessBoard);
-                                    
-                                }
-                            });
-                        }
-                    }
+                    handleTileClick(tileId, e);
                 }
 
                 @Override
@@ -326,37 +663,18 @@ public class Table {
             if (highLightlegalMoves) {
                 for(final Move move : pieceLegalMoves(board)){
                     if(move.getDestinationCoordinate() == this.tileId){
-                        try{
-                            add(new JLabel(new ImageIcon(ImageIO.read(new File(HighlightPath)))));
-                        }catch (Exception e){
-                            e.getStackTrace();
-                        }
+                        add(new JLabel(SpriteCache.getHighlightIcon()));
                     }
                 }
             }
         }
-        //function used to calculate a piece's legal moves
-        private Collection<Move> pieceLegalMoves(final Board board) {
-            //if alliance equals to the current player's alliance, then calculate legal moves
-            if(humanMovedPiece != null && humanMovedPiece.getPieceAlliance() == board.currentPlayer().getAlliance()) {
-                return humanMovedPiece.calculateLegalMoves(board);
-            }
-            return Collections.emptyList();
-        }
         //function used to assign the icon of a piece
         private void assignTilePieceIcon(final Board board){
             this.removeAll();
             
+            //the icons come from the sprite cache so drawing a tile does not read any files
             if(board.getTile(this.tileId).isTileOccupied()){
-
-                
-                try {
-                    final BufferedImage image= ImageIO.read(new File(defaultPieceImagesPath+board.getTile(this.tileId)
-                            .getPiece().getPieceAlliance().toString().substring(0, 1)+board.getTile(this.tileId).getPiece().toString()+".png"));
-                    add(new JLabel(new ImageIcon(image)));
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                add(new JLabel(SpriteCache.getPieceIcon(board.getTile(this.tileId).getPiece())));
             }
         }
         //function used to assign the color of the light and dark squares
@@ -368,16 +686,16 @@ public class Table {
     }
     //game alert message when a checkmate occurs
     public void checkMate() {
-    	if(chessBoard.currentPlayer().isInCheckMate()) {
-    		JOptionPane.showMessageDialog(this.boardPanel,
+    	if(chessBoard.getGameStatus() == GameStatus.CHECKMATE) {
+    		JOptionPane.showMessageDialog(this.gameFrame,
                     "Game Over: Player " + chessBoard.currentPlayer() + " is in checkmate!", "Game Over",
                     JOptionPane.INFORMATION_MESSAGE);
     	}
     }
   //game alert message when a stalemate occurs
     public void staleMate() {
-    	if(chessBoard.currentPlayer().isInStaleMate()) {
-    		JOptionPane.showMessageDialog(this.boardPanel,
+    	if(chessBoard.getGameStatus() == GameStatus.STALEMATE) {
+    		JOptionPane.showMessageDialog(this.gameFrame,
                     "Game Over: Player " + chessBoard.currentPlayer() + " is in stalemate!", "Game Over",
                     JOptionPane.INFORMATION_MESSAGE);
     	}
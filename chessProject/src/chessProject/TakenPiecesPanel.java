@@ -1,25 +1,33 @@
 package chessProject;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EtchedBorder;
 
 import chessProject.Table.MoveLog;
-//the class used to show the pieces that have been taken on the board 
+//the class used to show the pieces that have been taken on the board
 public class TakenPiecesPanel extends JPanel{
 	//here two panels are defined, a north and south panel for the black and white pieces respectively.
     private final JPanel northPanel;
     private final JPanel southPanel;
+    //the label in between the two panels that shows which side is ahead in material and by how much
+    private final JLabel materialLabel;
+    //the number of pieces of every type that each side has lost, white first, and the material value of those pieces
+    private final int[][] takenPieceCounts;
+    private final int[] takenMaterial;
+    //the number of moves of the move log that have been counted and the last of them
+    private int countedMoves;
+    private Move lastCountedMove;
     //the panel color, taken pieces size and border are defined here
     private static final Color PANEL_COLOR = Color.decode("#f5f5dc");
     private static final Dimension TAKEN_PIECES_DIMENSION = new Dimension(30, 60);
     private static final EtchedBorder PANEL_BORDER = new EtchedBorder(EtchedBorder.RAISED);
+    //the usual material values of the pawn, knight, bishop, rook, queen and king, a king is never taken
+    private static final int[] MATERIAL_VALUES = {1, 3, 3, 5, 9, 0};
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
     //here is the constructor for the panel , the grid is 8x2 for each since there are 16 pieces on each side
     //of a chess board and no more than that, the backgrounds and layouts are then set.
     public TakenPiecesPanel(){
@@ -30,57 +38,77 @@ public class TakenPiecesPanel extends JPanel{
         this.southPanel = new JPanel(new GridLayout(8, 2));
         this.northPanel.setBackground(PANEL_COLOR);
         this.southPanel.setBackground(PANEL_COLOR);
+        this.materialLabel = new JLabel("", SwingConstants.CENTER);
+        this.takenPieceCounts = new int[2][Piece.PieceType.values().length];
+        this.takenMaterial = new int[2];
+        updateMaterialLabel();
         this.add(this.northPanel, BorderLayout.NORTH);
+        this.add(this.materialLabel, BorderLayout.CENTER);
         this.add(this.southPanel, BorderLayout.SOUTH);
         setPreferredSize(TAKEN_PIECES_DIMENSION);
     }
-    //this function is used to update the move log 
+    //this function is used to update the panel with the moves added to the move log since the last time, only the pieces
+    //taken by those moves are counted and drawn so a move costs the same however long the game is. when the moves counted
+    //are not the start of the move log any more, like after a game was loaded, everything is counted again
     public void redo(final MoveLog moveLog){
-        this.southPanel.removeAll();
-        this.northPanel.removeAll();
-        //list of the white and black taken pieces
-        final List<Piece> whiteTakenPieces = new ArrayList<>();
-        final List<Piece> blackTakenPieces = new ArrayList<>();
-        //a for loop that checks if the piece that was taken was a black or white piece
-        //if the move was a white piece it would be added to the white taken pieces and vice-versa
-        for(final Move move : moveLog.getMoves()){
-            if (move.isAttack()){
-                final Piece takenPiece = move.getAttackedPiece();
-                if (takenPiece.getPieceAlliance().isWhite()){
-                    whiteTakenPieces.add(takenPiece);
-                }else if (takenPiece.getPieceAlliance().isBlack()){
-                    blackTakenPieces.add(takenPiece);
-                }else{
-                    throw new RuntimeException("invalid alliance");
-                }
-            }
+        final List<Move> moves = moveLog.getMoves();
+        if (this.countedMoves > moves.size() ||
+            (this.countedMoves > 0 && moves.get(this.countedMoves - 1) != this.lastCountedMove)) {
+            clear();
         }
-        //traversing through each of the white taken pieces, it draws the taken pieces onto the panel, the white pieces taken 
-        //will then appear on the south side or bottom side of the panel.
-        for (final Piece takenPiece : whiteTakenPieces){
-            try {
-                File f = new File("art/pieces/" + takenPiece.getPieceAlliance().toString().substring(0, 1) + "" + takenPiece.toString() + ".png");
-                final BufferedImage image = ImageIO.read(f);
-                final ImageIcon icon = new ImageIcon(image);
-                final JLabel imageLabel = new JLabel(icon);
-                this.southPanel.add(imageLabel);
-            }catch(final IOException e){
-                e.printStackTrace();;
-            }
+        if (this.countedMoves == moves.size()) {
+            return;
         }
-        //traversing through each of the black taken pieces, it draws the taken pieces onto the panel, the black pieces taken 
-        //will then appear on the south side or bottom side of the panel.
-        for (final Piece takenPiece : blackTakenPieces){
-            try {
-                File f = new File("art/pieces/" + takenPiece.getPieceAlliance().toString().substring(0, 1) + "" + takenPiece.toString() + ".png");
-                final BufferedImage image = ImageIO.read(f);
-                final ImageIcon icon = new ImageIcon(image);
-                final JLabel imageLabel = new JLabel(icon);
-                this.southPanel.add(imageLabel);
-            }catch(final IOException e){
-                e.printStackTrace();;
+        for (int i = this.countedMoves; i < moves.size(); i++) {
+            final Move move = moves.get(i);
+            if (move.isAttack()) {
+                addTakenPiece(move.getAttackedPiece());
             }
         }
+        this.countedMoves = moves.size();
+        this.lastCountedMove = moves.get(moves.size() - 1);
+        updateMaterialLabel();
+        validate();
+        repaint();
+    }
+    //getter method for the number of pieces of a type the side has lost
+    public int getTakenPieceCount(final Alliance alliance, final Piece.PieceType pieceType) {
+        return this.takenPieceCounts[alliance.isWhite() ? WHITE : BLACK][pieceType.ordinal()];
+    }
+    //getter method for the material difference, more than 0 when white is ahead and less than 0 when black is ahead
+    public int getMaterialDifference() {
+        return this.takenMaterial[BLACK] - this.takenMaterial[WHITE];
+    }
+    //counts a taken piece and draws it from the sprite cache, the white pieces taken appear on the south side or bottom
+    //side of the panel and the black pieces taken on the north side
+    private void addTakenPiece(final Piece takenPiece) {
+        final int side = takenPiece.getPieceAlliance().isWhite() ? WHITE : BLACK;
+        this.takenPieceCounts[side][takenPiece.getPieceType().ordinal()]++;
+        this.takenMaterial[side] += MATERIAL_VALUES[takenPiece.getPieceType().ordinal()];
+        final JLabel imageLabel = new JLabel(SpriteCache.getPieceIcon(takenPiece));
+        (side == WHITE ? this.southPanel : this.northPanel).add(imageLabel);
+    }
+    private void updateMaterialLabel() {
+        final int materialDifference = getMaterialDifference();
+        if (materialDifference > 0) {
+            this.materialLabel.setText("W +" + materialDifference);
+        } else if (materialDifference < 0) {
+            this.materialLabel.setText("B +" + -materialDifference);
+        } else {
+            this.materialLabel.setText("=");
+        }
+    }
+    private void clear() {
+        this.southPanel.removeAll();
+        this.northPanel.removeAll();
+        for (final int[] counts : this.takenPieceCounts) {
+            Arrays.fill(counts, 0);
+        }
+        Arrays.fill(this.takenMaterial, 0);
+        this.countedMoves = 0;
+        this.lastCountedMove = null;
+        updateMaterialLabel();
         validate();
+        repaint();
     }
 }
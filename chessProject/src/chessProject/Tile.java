@@ -1,9 +1,5 @@
 package chessProject;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
 //
 //Tile is an abstract class so that child classes EmptyTile and OccupiedTile 
 //can inherit the methods within the tile class 
@@ -15,30 +11,42 @@ public abstract class Tile {
 	
     protected final int tileCoordinate;
     
-    //Here a cache of empty tiles using a map is generated
+    //Here a cache of empty tiles is generated, the empty tile of a coordinate is kept at that index of the array
     
-    private static final Map<Integer, EmptyTile> EMPTY_TILES_CACHE=createAllPossibleEmptyTiles();
+    private static final EmptyTile[] EMPTY_TILES_CACHE=createAllPossibleEmptyTiles();
     
-    //The function is described here as a hash map is used. the integer value i is assigned the value 0
-    //and the hashmap puts i as the index and each of the empty tiles until the number i reaches the number 63 where it stops.
+    //The function is described here, the integer value i is assigned the value 0 and the empty tile with coordinate i is put
+    //at index i until the number i reaches the number 63 where it stops.
     //The number 64 is the total amount of tiles on an 8x8 chessboard.
     
-    private static Map<Integer, EmptyTile> createAllPossibleEmptyTiles(){
-        final Map<Integer, EmptyTile> emptyTileMap=new HashMap<>();
+    private static EmptyTile[] createAllPossibleEmptyTiles(){
+        final EmptyTile[] emptyTiles=new EmptyTile[BoardUtils.NUM_TILES];
         for(int i=0;i<BoardUtils.NUM_TILES;i++){
-            emptyTileMap.put(i, new EmptyTile(1));
+            emptyTiles[i]=new EmptyTile(i);
         }
-        //the map is then stored as an immutable map.
-        
-        return Collections.unmodifiableMap(emptyTileMap);
+        return emptyTiles;
   
     }
     //this function is used to create the tile
-    //a ternary expression is used here, if the piece is not null then a new tile is created otherwise we get the coordinate
-    //of the empty tile
+    //if the piece is null we get the empty tile of the coordinate, otherwise the occupied tile that was made for the shared
+    //piece is used. only a piece that is not one of the shared pieces of the piece utils gets a new tile
     
     public static Tile createTile(final int tileCoordinate, final Piece piece) {
-        return piece != null ? new OccupiedTile(tileCoordinate, piece) : EMPTY_TILES_CACHE.get(tileCoordinate);
+        if (piece == null) {
+            return EMPTY_TILES_CACHE[tileCoordinate];
+        }
+        if (piece.getPiecePosition() == tileCoordinate) {
+            final Tile occupiedTile = PieceUtils.getOccupiedTile(piece);
+            if (occupiedTile.getPiece() == piece) {
+                return occupiedTile;
+            }
+        }
+        return new OccupiedTile(tileCoordinate, piece);
+    }
+    //this function is used by the piece utils to make the one occupied tile of a shared piece
+    
+    static Tile createOccupiedTile(final int tileCoordinate, final Piece piece) {
+        return new OccupiedTile(tileCoordinate, piece);
     }
     //Constructor of the tile, has its own coordinate
     
@@ -9,13 +9,10 @@ import java.util.List;
 
 public class WhitePlayer extends Player{
 	
-	//This class extends from the superclass Player where the constructor defines a collection of legal moves for
-	//the black and white players and inherits the constructor from the player class, the white player's legal moves
-	//are its legal moves and the black player's legal moves are the opponent's
-    public WhitePlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+	//This class extends from the superclass Player and inherits the constructor from the player class, the white player's
+	//legal moves are calculated from the white pieces of the board when they are first asked for
+    public WhitePlayer(final Board board) {
+        super(board);
     }
     
   //An overridden function used to get all white pieces on the board
@@ -44,22 +41,22 @@ public class WhitePlayer extends Player{
     @Override
     protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentLegals) {
         final List<Move> kingCastles = new ArrayList<>();
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+        if (getPlayerKing().isFirstMove() && !this.isInCheck()) {
         	
         	//The white king side castle
         	//The code checks whether the tile where the knight and bishop should be is empty or not.
         	//Assuming that this is the rook's first move and it is still on its tile, the castle move
         	//is added as a special kingside castle move into a collection of castle moves
         	
-            if (!this.board.getTile(61).isTileOccupied() &&
-                !this.board.getTile(62).isTileOccupied()) {
+            if (!this.board.isTileOccupied(61) &&
+                !this.board.isTileOccupied(62)) {
                 final Tile rookTile = this.board.getTile(63);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
                     if (Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
                         Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
                         rookTile.getPiece().getPieceType().isRook()){
                         kingCastles.add(new Move.KingSideCastleMove(this.board,
-                                                               this.playerKing,
+                                                               getPlayerKing(),
                                                                62,
                                                                (Rook) rookTile.getPiece(),
                                                                rookTile.getTileCoordinate(),
@@ -73,9 +70,9 @@ public class WhitePlayer extends Player{
         	//Assuming that this is the rook's first move and it is still on its tile, the castle move
         	//is added as a special kingside castle move into a collection of castle moves
             
-            if (!this.board.getTile(59).isTileOccupied() &&
-                !this.board.getTile(58).isTileOccupied() &&
-                !this.board.getTile(57).isTileOccupied()) {
+            if (!this.board.isTileOccupied(59) &&
+                !this.board.isTileOccupied(58) &&
+                !this.board.isTileOccupied(57)) {
                 final Tile rookTile = this.board.getTile(56);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
                     Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
@@ -83,7 +80,7 @@ public class WhitePlayer extends Player{
                     rookTile.getPiece().getPieceType().isRook()){
                     
                     kingCastles.add(new Move.QueenSideCastleMove(this.board,
-                                                            this.playerKing,
+                                                            getPlayerKing(),
                                                             58,
                                                             (Rook) rookTile.getPiece(),
                                                             rookTile.getTileCoordinate(),
@@ -0,0 +1,84 @@
+package chessProject;
+
+import java.util.Random;
+//A utility class for the zobrist keys of positions. Every piece on every tile, the side to move, every combination of castling
+//rights and every file a pawn can be taken en passant on is given a random 64 bit number, and the key of a position is all of
+//the numbers that apply to it xor-ed together. Since xor undoes itself, a move changes the key by xor-ing out what it takes
+//away and xor-ing in what it adds, so the key never has to be worked out from scratch after a move. The random numbers come
+//from a fixed seed so that a position has the same key every time the program is run.
+public final class Zobrist {
+
+    private static final long SEED = 0x5EED_C0DE_2020L;
+    private static final long[][] PIECE_KEYS = new long[BitBoardUtils.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                pieceKeys[tile] = random.nextLong();
+            }
+        }
+        //the key for no castling rights at all is left at zero
+        for (int castlingRights = 1; castlingRights < CASTLING_KEYS.length; castlingRights++) {
+            CASTLING_KEYS[castlingRights] = random.nextLong();
+        }
+        for (int file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    //Constructor for zobrist, a runtime exception is used if the class is initiated.
+    private Zobrist() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //the key of a piece, given as the index of its bitboard, standing on a tile
+    public static long getPieceKey(final int pieceIndex, final int tileCoordinate) {
+        return PIECE_KEYS[pieceIndex][tileCoordinate];
+    }
+
+    //the key of a piece on its tile
+    public static long getPieceKey(final Piece piece) {
+        return PIECE_KEYS[BitBoardUtils.getPieceIndex(piece.getPieceType(), piece.getPieceAlliance())][piece.getPiecePosition()];
+    }
+
+    //the key of a combination of castling rights, the rights use the bits of the search board
+    public static long getCastlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    //the key of a pawn that can be taken en passant, only the file of the pawn counts
+    public static long getEnPassantKey(final int enPassantPawnTile) {
+        return EN_PASSANT_KEYS[enPassantPawnTile % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    //the key that is part of every position with black to move
+    public static long getBlackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    //works out the key of a position from scratch, the en passant tile is -1 when there is no en passant pawn
+    public static long calculateKey(final long[] pieceBitboards,
+                                    final Alliance sideToMove,
+                                    final int castlingRights,
+                                    final int enPassantPawnTile) {
+        long key = 0L;
+        for (int pieceIndex = 0; pieceIndex < pieceBitboards.length; pieceIndex++) {
+            for (long pieces = pieceBitboards[pieceIndex]; pieces != 0; pieces &= pieces - 1) {
+                key ^= PIECE_KEYS[pieceIndex][Long.numberOfTrailingZeros(pieces)];
+            }
+        }
+        key ^= CASTLING_KEYS[castlingRights];
+        if (enPassantPawnTile != -1) {
+            key ^= getEnPassantKey(enPassantPawnTile);
+        }
+        if (sideToMove.isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,392 @@
+package chessProject.database;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import chessProject.Board;
+import chessProject.FenUtilities;
+import chessProject.GameStatus;
+import chessProject.Move;
+import chessProject.Player;
+import chessProject.Table;
+import chessProject.pgn.PGNGame;
+import chessProject.pgn.PGNUtilities;
+//A database of games kept in two files that are only ever added to. The data file holds one record after the other and
+//the index file holds the position of every record in the data file as a long, so game n is found by reading the long at
+//8 * n and the record it points to. Both files are read through memory mapped buffers.
+//
+//A record is a header followed by the moves:
+//  ply count (2 bytes), result (1 byte), tag count (1 byte)
+//  for every tag the length of the name (1 byte), the name, the length of the value (2 bytes) and the value, in UTF-8
+//  a move index for every ply (1 byte each)
+//A move index is the place of the move in the moves the player could make, that is the legal moves of the player in the
+//order they are generated that the legality checker lets through, followed by the castle moves of the player. A player
+//never has more than 218 legal moves, so an index always fits in a byte.
+//
+//A game that did not start from the standard position keeps its starting position in a FEN tag.
+public final class GameDatabase implements Closeable {
+
+    private static final byte[] MAGIC = "CHESSDB1".getBytes(StandardCharsets.US_ASCII);
+    private static final String[] RESULTS = {"*", "1-0", "0-1", "1/2-1/2"};
+    private static final int MAX_RECORD_SIZE = 1 << 16;
+    private static final int MAX_TAG_NAME_LENGTH = 0xFF;
+    private static final int MAX_TAG_VALUE_LENGTH = 0xFFFF;
+    private static final String STANDARD_FEN = FenUtilities.createFENFromBoard(Board.createStandardBoard());
+
+    private final Path path;
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private long dataSize;
+    private int gameCount;
+    //the mapped files only reach as far as the files did when they were mapped, they are mapped again when a game added
+    //later is read
+    private MappedFile mappedData;
+    private MappedFile mappedIndex;
+    private int mappedGameCount;
+
+    private GameDatabase(final Path path) throws IOException {
+        this.path = path;
+        this.dataChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(getIndexPath(path), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                             StandardOpenOption.WRITE);
+        if (this.dataChannel.size() == 0) {
+            this.dataChannel.write(ByteBuffer.wrap(MAGIC), 0);
+            this.indexChannel.truncate(0);
+        } else {
+            final ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+            this.dataChannel.read(magic, 0);
+            if (!Arrays.equals(magic.array(), MAGIC)) {
+                close();
+                throw new RuntimeException("The file " + path + " is not a game database!");
+            }
+        }
+        this.dataSize = this.dataChannel.size();
+        //a long of the index that was only written in part belongs to a game that was never finished
+        this.gameCount = (int) (this.indexChannel.size() / Long.BYTES);
+    }
+
+    //opens the game database in the given file, the file and its index file are created when they do not exist yet
+    public static GameDatabase open(final Path path) throws IOException {
+        return new GameDatabase(path);
+    }
+
+    //the index file of a database is kept next to its data file
+    public static Path getIndexPath(final Path path) {
+        return path.resolveSibling(path.getFileName() + ".index");
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    //the number of games in the database
+    public synchronized int size() {
+        return this.gameCount;
+    }
+
+    //reads the game with the given id, the ids of the games are 0 up to the number of games
+    public GameRecord getGame(final int id) {
+        final MappedFile data;
+        final long offset;
+        synchronized (this) {
+            if (id < 0 || id >= this.gameCount) {
+                throw new RuntimeException("There is no game " + id + " in a database of " + this.gameCount + " games!");
+            }
+            if (id >= this.mappedGameCount) {
+                map();
+            }
+            data = this.mappedData;
+            offset = this.mappedIndex.getLong((long) id * Long.BYTES);
+        }
+        final ByteBuffer buffer = data.getBuffer(offset);
+        final int plyCount = buffer.getShort() & 0xFFFF;
+        final String result = RESULTS[buffer.get()];
+        final int tagCount = buffer.get() & 0xFF;
+        final Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            final String name = readString(buffer, buffer.get() & 0xFF);
+            final String value = readString(buffer, buffer.getShort() & 0xFFFF);
+            tags.put(name, value);
+        }
+        final byte[] moveIndexes = new byte[plyCount];
+        buffer.get(moveIndexes);
+        return new GameRecord(id, tags, result, moveIndexes);
+    }
+
+    //adds the game of a move log, the result is worked out from the board after the last move. the id of the game is given back
+    public int addGame(final Table.MoveLog moveLog) throws IOException {
+        final List<Move> moves = moveLog.getMoves();
+        String result = RESULTS[0];
+        if (!moves.isEmpty()) {
+            final Board board = moves.get(moves.size() - 1).execute();
+            if (board.getGameStatus() == GameStatus.CHECKMATE) {
+                result = board.currentPlayer().getAlliance().isWhite() ? "0-1" : "1-0";
+            } else if (board.getGameStatus() == GameStatus.STALEMATE) {
+                result = "1/2-1/2";
+            }
+        }
+        return addGame(new LinkedHashMap<>(), result, moves.isEmpty() ? Board.createStandardBoard() : moves.get(0).getBoard(), moves);
+    }
+
+    //adds a game read from a pgn file, -1 is given back instead of an id when the game can not be replayed to the end
+    public int addGame(final PGNGame game) throws IOException {
+        final byte[] record = createRecord(game);
+        return record != null ? append(record) : -1;
+    }
+
+    //adds a game played from the starting board, every move has to be made on the board the move before it leads to. the id of
+    //the game is given back
+    public int addGame(final Map<String, String> tags,
+                       final String result,
+                       final Board startingBoard,
+                       final List<Move> moves) throws IOException {
+        return append(createRecord(tags, result, startingBoard, moves));
+    }
+
+    //adds every game of a pgn file that can be replayed to the end, the games are read and replayed with the given number of
+    //threads and only adding the records is done one game at a time, so the games are not stored in the order of the file
+    //when more than one thread is used. the number of games added is given back
+    public long importPGN(final Path pgnPath, final int threadCount) throws IOException {
+        final AtomicLong addedGames = new AtomicLong();
+        final Consumer<PGNGame> importer = game -> {
+            final byte[] record = createRecord(game);
+            if (record != null) {
+                try {
+                    append(record);
+                } catch (final IOException e) {
+                    throw new RuntimeException("The game database " + this.path + " could not be written!", e);
+                }
+                addedGames.incrementAndGet();
+            }
+        };
+        if (threadCount <= 1) {
+            PGNUtilities.readGames(pgnPath, importer);
+        } else {
+            PGNUtilities.readGamesInParallel(pgnPath, threadCount, importer);
+        }
+        return addedGames.get();
+    }
+
+    //writes the data to the disk
+    public synchronized void force() throws IOException {
+        this.dataChannel.force(false);
+        this.indexChannel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            this.dataChannel.close();
+        } finally {
+            this.indexChannel.close();
+        }
+    }
+
+    //the move index of a move on the board it is made on, -1 when the player can not make the move
+    public static int getMoveIndex(final Board board, final Move move) {
+        final Player player = board.currentPlayer();
+        int index = 0;
+        for (final Move legalMove : player.getLegalMoves()) {
+            if (player.getLegalityChecker().isLegal(legalMove)) {
+                if (legalMove == move || legalMove.equals(move)) {
+                    return index;
+                }
+                index++;
+            }
+        }
+        if (move.isCastlingMove()) {
+            for (final Move castleMove : player.getCastleMoves()) {
+                if (castleMove.equals(move)) {
+                    return index;
+                }
+                index++;
+            }
+        }
+        return -1;
+    }
+
+    //the move with the given move index on a board
+    public static Move getMove(final Board board, final int moveIndex) {
+        final Player player = board.currentPlayer();
+        int index = 0;
+        for (final Move legalMove : player.getLegalMoves()) {
+            if (player.getLegalityChecker().isLegal(legalMove) && index++ == moveIndex) {
+                return legalMove;
+            }
+        }
+        for (final Move castleMove : player.getCastleMoves()) {
+            if (index++ == moveIndex) {
+                return castleMove;
+            }
+        }
+        throw new RuntimeException("There is no move " + moveIndex + " on the board:\n" + board);
+    }
+
+    //the record of a game read from a pgn file, null when the game can not be replayed to the end
+    private static byte[] createRecord(final PGNGame game) {
+        final PGNUtilities.ReplayedGame replayedGame = PGNUtilities.replay(game);
+        if (!replayedGame.isComplete()) {
+            return null;
+        }
+        final List<Move> moves = replayedGame.getMoves();
+        final Board startingBoard = moves.isEmpty() ? game.createStartingBoard() : moves.get(0).getBoard();
+        return createRecord(game.getTags(), game.getResult(), startingBoard, moves);
+    }
+
+    private static byte[] createRecord(final Map<String, String> tags,
+                                       final String result,
+                                       final Board startingBoard,
+                                       final List<Move> moves) {
+        final Map<String, String> recordTags = new LinkedHashMap<>(tags);
+        if (!recordTags.containsKey("FEN")) {
+            final String fen = FenUtilities.createFENFromBoard(startingBoard);
+            if (!fen.equals(STANDARD_FEN)) {
+                recordTags.put("SetUp", "1");
+                recordTags.put("FEN", fen);
+            }
+        }
+        if (moves.size() > 0xFFFF || recordTags.size() > 0xFF) {
+            throw new RuntimeException("A game with " + moves.size() + " moves and " + recordTags.size() + " tags is too long to be stored!");
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(MAX_RECORD_SIZE);
+        try {
+            buffer.putShort((short) moves.size());
+            buffer.put((byte) getResultCode(result));
+            buffer.put((byte) recordTags.size());
+            for (final Map.Entry<String, String> tag : recordTags.entrySet()) {
+                writeString(buffer, tag.getKey(), MAX_TAG_NAME_LENGTH, 1);
+                writeString(buffer, tag.getValue(), MAX_TAG_VALUE_LENGTH, 2);
+            }
+            Board board = startingBoard;
+            for (final Move move : moves) {
+                final int moveIndex = getMoveIndex(board, move);
+                if (moveIndex < 0) {
+                    throw new RuntimeException("The move " + move + " can not be made on the board:\n" + board);
+                }
+                buffer.put((byte) moveIndex);
+                board = move.execute();
+            }
+        } catch (final BufferOverflowException e) {
+            throw new RuntimeException("A game is too long to be stored, a record can not be longer than " + MAX_RECORD_SIZE + " bytes!");
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    //adds a record at the end of the data file and its position at the end of the index file, the record is written first so
+    //the index never points past the end of the data
+    private synchronized int append(final byte[] record) throws IOException {
+        final long offset = this.dataSize;
+        writeFully(this.dataChannel, ByteBuffer.wrap(record), offset);
+        this.dataSize += record.length;
+        final ByteBuffer entry = ByteBuffer.allocate(Long.BYTES);
+        entry.putLong(0, offset);
+        writeFully(this.indexChannel, entry, (long) this.gameCount * Long.BYTES);
+        return this.gameCount++;
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        long writePosition = position;
+        while (buffer.hasRemaining()) {
+            writePosition += channel.write(buffer, writePosition);
+        }
+    }
+
+    //maps both files as far as they go now
+    private void map() {
+        try {
+            this.mappedData = new MappedFile(this.dataChannel, this.dataSize, MAX_RECORD_SIZE);
+            this.mappedIndex = new MappedFile(this.indexChannel, (long) this.gameCount * Long.BYTES, Long.BYTES);
+            this.mappedGameCount = this.gameCount;
+        } catch (final IOException e) {
+            throw new RuntimeException("The game database " + this.path + " could not be mapped!", e);
+        }
+    }
+
+    //the result that is stored with the given code
+    static String getResult(final int resultCode) {
+        return RESULTS[resultCode];
+    }
+
+    //the code a result is stored with, 0 for *, 1 for 1-0, 2 for 0-1 and 3 for 1/2-1/2
+    static int getResultCode(final String result) {
+        for (int i = 0; i < RESULTS.length; i++) {
+            if (RESULTS[i].equals(result)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static void writeString(final ByteBuffer buffer, final String value, final int maxLength, final int lengthBytes) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxLength) {
+            bytes = Arrays.copyOf(bytes, maxLength);
+        }
+        if (lengthBytes == 1) {
+            buffer.put((byte) bytes.length);
+        } else {
+            buffer.putShort((short) bytes.length);
+        }
+        buffer.put(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer, final int length) {
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    //a tool to fill and read a game database from the command line
+    //  java chessProject.database.GameDatabase <database> import <pgn file> [threads]
+    //  java chessProject.database.GameDatabase <database> replay
+    //  java chessProject.database.GameDatabase <database> show <id>
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("usage: GameDatabase <database> import <pgn file> [threads] | replay | show <id>");
+            return;
+        }
+        try (GameDatabase database = open(Paths.get(args[0]))) {
+            final long start = System.nanoTime();
+            if (args[1].equals("import")) {
+                final int threadCount = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+                final long games = database.importPGN(Paths.get(args[2]), threadCount);
+                database.force();
+                System.out.println(games + " games added in " + (System.nanoTime() - start) / 1_000_000 + " ms, " +
+                                   database.size() + " games in the database");
+            } else if (args[1].equals("replay")) {
+                long plies = 0;
+                for (int id = 0; id < database.size(); id++) {
+                    final GameRecord game = database.getGame(id);
+                    game.replay(null);
+                    plies += game.getPlyCount();
+                }
+                final long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                System.out.println(database.size() + " games with " + plies + " plies replayed in " + elapsedMillis + " ms (" +
+                                   plies * 1000 / elapsedMillis + " plies/s)");
+            } else if (args[1].equals("show")) {
+                final GameRecord game = database.getGame(Integer.parseInt(args[2]));
+                final List<Move> moves = new ArrayList<>();
+                final Board board = game.replay(moves);
+                System.out.println(game + " " + game.getTags());
+                System.out.println(moves);
+                System.out.println(board);
+            } else {
+                System.out.println("unknown command " + args[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package chessProject.database;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import chessProject.Board;
+import chessProject.FenUtilities;
+import chessProject.Move;
+//A game read from the game database: its id, the tags of its header, its result and a move index for every ply. A move index
+//is the place of the move in the moves the player could make on the board before it, so the moves are only turned into moves
+//of our boards when the game is replayed.
+public final class GameRecord {
+
+    private final int id;
+    private final Map<String, String> tags;
+    private final String result;
+    private final byte[] moveIndexes;
+
+    GameRecord(final int id,
+               final Map<String, String> tags,
+               final String result,
+               final byte[] moveIndexes) {
+        this.id = id;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.result = result;
+        this.moveIndexes = moveIndexes;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    //getter method for the tags of the game in the order they were stored
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+
+    //getter method for the value of a tag, null when the game does not have the tag
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    //getter method for the result of the game, 1-0, 0-1, 1/2-1/2 or * for a game without a result
+    public String getResult() {
+        return this.result;
+    }
+
+    //getter method for the number of plies of the game
+    public int getPlyCount() {
+        return this.moveIndexes.length;
+    }
+
+    //getter method for the move index of a ply
+    public int getMoveIndex(final int ply) {
+        return this.moveIndexes[ply] & 0xFF;
+    }
+
+    //the board the game starts from, a game that did not start from the standard position has it in its FEN tag
+    public Board createStartingBoard() {
+        final String fen = getTag("FEN");
+        return fen != null ? FenUtilities.createBoardFromFEN(fen) : Board.createStandardBoard();
+    }
+
+    //replays the game and gives back the board after its last move, the moves are added to the list when a list is given
+    public Board replay(final List<Move> moves) {
+        Board board = createStartingBoard();
+        for (int ply = 0; ply < this.moveIndexes.length; ply++) {
+            final Move move = GameDatabase.getMove(board, getMoveIndex(ply));
+            if (moves != null) {
+                moves.add(move);
+            }
+            board = move.execute();
+        }
+        return board;
+    }
+
+    //overridden toString() method
+    @Override
+    public String toString() {
+        return "#" + this.id + " " + getTagOrUnknown("White") + " - " + getTagOrUnknown("Black") + " " + this.result +
+               " (" + getPlyCount() + " plies)";
+    }
+
+    private String getTagOrUnknown(final String name) {
+        final String value = getTag(name);
+        return value != null ? value : "?";
+    }
+}
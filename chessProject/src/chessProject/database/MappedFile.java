@@ -0,0 +1,47 @@
+package chessProject.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+//A file mapped into memory for reading. A single mapped buffer can not be larger than 2 GB, so the file is mapped in segments
+//of 1 GB and every segment reaches a little into the next one. A value or record that starts in a segment and is not longer
+//than the overlap can then always be read from that one segment.
+final class MappedFile {
+
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    MappedFile(final FileChannel channel, final long size, final int overlap) throws IOException {
+        final int segmentCount = size == 0 ? 0 : (int) ((size - 1) / SEGMENT_SIZE) + 1;
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            final long segmentStart = i * SEGMENT_SIZE;
+            this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart,
+                                           Math.min(SEGMENT_SIZE + overlap, size - segmentStart));
+        }
+        this.size = size;
+    }
+
+    //the number of bytes of the file that are mapped
+    long size() {
+        return this.size;
+    }
+
+    //a buffer of its own that is positioned at the given position of the file, so more than one thread can read at once
+    ByteBuffer getBuffer(final long position) {
+        if (position < 0 || position >= this.size) {
+            throw new RuntimeException("Position " + position + " is outside of a mapped file of " + this.size + " bytes!");
+        }
+        final int segment = (int) (position / SEGMENT_SIZE);
+        final ByteBuffer buffer = this.segments[segment].duplicate();
+        buffer.position((int) (position - segment * SEGMENT_SIZE));
+        return buffer;
+    }
+
+    long getLong(final long position) {
+        return getBuffer(position).getLong();
+    }
+}
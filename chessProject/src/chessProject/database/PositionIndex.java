@@ -0,0 +1,705 @@
+package chessProject.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import chessProject.Board;
+import chessProject.FenUtilities;
+import chessProject.Move;
+import chessProject.PackedMove;
+//An index from the positions reached in the games of a game database to the games and plies they were reached in, so the
+//games that reached a position and the moves that were played next can be found without replaying any game.
+//
+//The index is a file of postings sorted by the zobrist key of the position. A posting is 16 bytes, the key followed by
+//  game id (32 bits), result (2 bits), ply (14 bits), the packed move played next (16 bits, 0 at the end of a game)
+//In front of the postings is a directory with the first posting of every value of the top 16 bits of the keys, so a lookup
+//only has to do a binary search over the few postings that share the top bits of its key. The postings are read through
+//memory mapped buffers, and only the directory is read into memory when the index is opened. The header before the
+//directory has the number of postings and the number of games of the database the index was built from, so an index that
+//is missing games added to the database later is found and built again.
+//
+//The index is built by replaying the games with a number of threads, every thread sorts the postings it collects in runs
+//that fit in memory and writes them to a file, and the runs are merged into the index at the end.
+public final class PositionIndex implements Closeable {
+
+    private static final byte[] MAGIC = "CHESSPI2".getBytes(StandardCharsets.US_ASCII);
+    private static final int DIRECTORY_BITS = 16;
+    private static final int DIRECTORY_SIZE = (1 << DIRECTORY_BITS) + 1;
+    private static final long DIRECTORY_START = MAGIC.length + 2 * Long.BYTES;
+    private static final long POSTINGS_START = DIRECTORY_START + (long) DIRECTORY_SIZE * Long.BYTES;
+    private static final int POSTING_SIZE = 2 * Long.BYTES;
+    //the memory all of the threads of a build use for their runs together, and the smallest run a thread collects however
+    //many threads there are
+    private static final long RUN_MEMORY = 128L * 1024L * 1024L;
+    private static final int MIN_RUN_SIZE = 1 << 12;
+    private static final int MAX_PLY = (1 << 14) - 1;
+    private static final int RADIX_BITS = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedFile mappedFile;
+    private final long[] directory;
+    private final long postingCount;
+    private final int gameCount;
+
+    private PositionIndex(final Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        final ByteBuffer header = ByteBuffer.allocate((int) POSTINGS_START);
+        int read = 0;
+        while (header.hasRemaining() && read >= 0) {
+            read = this.channel.read(header, header.position());
+        }
+        header.flip();
+        final byte[] magic = new byte[MAGIC.length];
+        if (header.remaining() == POSTINGS_START) {
+            header.get(magic);
+        }
+        //a file that is too short to have a header is not an index either
+        if (!Arrays.equals(magic, MAGIC)) {
+            this.channel.close();
+            throw new RuntimeException("The file " + path + " is not a position index!");
+        }
+        this.postingCount = header.getLong();
+        this.gameCount = (int) header.getLong();
+        this.directory = new long[DIRECTORY_SIZE];
+        header.asLongBuffer().get(this.directory);
+        this.mappedFile = new MappedFile(this.channel, POSTINGS_START + this.postingCount * POSTING_SIZE, POSTING_SIZE);
+    }
+
+    //opens a position index that was built before
+    public static PositionIndex open(final Path path) throws IOException {
+        return new PositionIndex(path);
+    }
+
+    //opens the position index of a game database when it was built from every game the database has now, null when the index
+    //was not built yet, was built before games were added to the database or is of an older format. Only the start of the
+    //header is read to find out, an index that is out of date is never mapped so it can be built again in its place
+    public static PositionIndex openIfCurrent(final GameDatabase database) throws IOException {
+        final Path path = getIndexPath(database.getPath());
+        if (!Files.exists(path)) {
+            return null;
+        }
+        final ByteBuffer header = ByteBuffer.allocate((int) DIRECTORY_START);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read = 0;
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header, header.position());
+            }
+        }
+        header.flip();
+        if (header.remaining() < DIRECTORY_START) {
+            return null;
+        }
+        final byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        header.getLong();
+        if (!Arrays.equals(magic, MAGIC) || header.getLong() != database.size()) {
+            return null;
+        }
+        return open(path);
+    }
+
+    //the position index of a game database is kept next to its data file
+    public static Path getIndexPath(final Path databasePath) {
+        return databasePath.resolveSibling(databasePath.getFileName() + ".positions");
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    //the number of positions in the index, a position is counted once for every game and ply it was reached in
+    public long size() {
+        return this.postingCount;
+    }
+
+    //the number of games of the database when the index was built
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    //the number of times the position of the board was reached in the games of the index, found with two binary searches so a
+    //position reached in millions of games costs no more than one reached once
+    public int countGames(final Board board) {
+        final long key = board.getZobristKey();
+        return (int) (findPostingAfter(key) - findFirstPosting(key));
+    }
+
+    //the games and plies the position of the board was reached in, up to the given number of them in the order of the games
+    public List<Occurrence> findGames(final Board board, final int limit) {
+        final long key = board.getZobristKey();
+        final List<Occurrence> occurrences = new ArrayList<>();
+        for (long posting = findFirstPosting(key); posting < this.postingCount && getKey(posting) == key &&
+                                                   occurrences.size() < limit; posting++) {
+            occurrences.add(new Occurrence(getValue(posting)));
+        }
+        return occurrences;
+    }
+
+    //the moves that were played next from the position of the board, with how often they were played and how the games ended,
+    //the most played move comes first
+    public List<MoveStatistics> getNextMoves(final Board board) {
+        final long key = board.getZobristKey();
+        final Map<Integer, MoveStatistics> statistics = new LinkedHashMap<>();
+        for (long posting = findFirstPosting(key); posting < this.postingCount && getKey(posting) == key; posting++) {
+            final long value = getValue(posting);
+            final int packedMove = getNextMove(value);
+            if (packedMove == PackedMove.NO_MOVE) {
+                continue;
+            }
+            MoveStatistics moveStatistics = statistics.get(packedMove);
+            if (moveStatistics == null) {
+                final Move move = toMove(board, packedMove);
+                if (move == Move.MoveFactory.getNullMove()) {
+                    //another position with the same key
+                    continue;
+                }
+                moveStatistics = new MoveStatistics(move);
+                statistics.put(packedMove, moveStatistics);
+            }
+            moveStatistics.add(getResultCode(value));
+        }
+        final List<MoveStatistics> nextMoves = new ArrayList<>(statistics.values());
+        nextMoves.sort((first, second) -> Integer.compare(second.getCount(), first.getCount()));
+        return nextMoves;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    //the first posting with the given key, or the posting where it would be when there is none
+    private long findFirstPosting(final long key) {
+        final int bucket = getBucket(key);
+        long low = this.directory[bucket];
+        long high = this.directory[bucket + 1];
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+            if (getKey(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    //the first posting with a key greater than the given key, the postings with the key are the ones before it from the
+    //first posting with the key on
+    private long findPostingAfter(final long key) {
+        final int bucket = getBucket(key);
+        long low = this.directory[bucket];
+        long high = this.directory[bucket + 1];
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+            if (getKey(middle) <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long getKey(final long posting) {
+        return this.mappedFile.getLong(POSTINGS_START + posting * POSTING_SIZE);
+    }
+
+    private long getValue(final long posting) {
+        return this.mappedFile.getLong(POSTINGS_START + posting * POSTING_SIZE + Long.BYTES);
+    }
+
+    //the postings are sorted by their keys as signed longs, flipping the sign bit makes the top bits of a key grow in the
+    //same order
+    private static int getBucket(final long key) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> (Long.SIZE - DIRECTORY_BITS));
+    }
+
+    private static long createValue(final int gameId, final int resultCode, final int ply, final int nextMove) {
+        return ((long) gameId << 32) | ((long) resultCode << 30) | ((long) ply << 16) | nextMove;
+    }
+
+    private static int getGameId(final long value) {
+        return (int) (value >>> 32);
+    }
+
+    private static int getResultCode(final long value) {
+        return (int) (value >>> 30) & 0x3;
+    }
+
+    private static int getPly(final long value) {
+        return (int) (value >>> 16) & MAX_PLY;
+    }
+
+    private static int getNextMove(final long value) {
+        return (int) value & 0xFFFF;
+    }
+
+    //the move of the board that a packed move stands for, castle moves are not part of the legal moves of a player so they
+    //are looked for in the castle moves
+    private static Move toMove(final Board board, final int packedMove) {
+        if (PackedMove.isCastlingMove(packedMove)) {
+            for (final Move castleMove : board.currentPlayer().getCastleMoves()) {
+                if (PackedMove.fromMove(castleMove) == packedMove) {
+                    return castleMove;
+                }
+            }
+            return Move.MoveFactory.getNullMove();
+        }
+        return PackedMove.toMove(board, packedMove);
+    }
+
+    //builds the position index of every game of the database with the given number of threads and opens it
+    public static PositionIndex build(final GameDatabase database, final Path path, final int threadCount) throws IOException {
+        return build(database, path, threadCount, () -> false);
+    }
+
+    //builds the position index like build does but gives up when the stop condition becomes true, the threads ask it before
+    //every game and a build that gave up throws a CancellationException without writing the index
+    public static PositionIndex build(final GameDatabase database,
+                                      final Path path,
+                                      final int threadCount,
+                                      final BooleanSupplier stopCondition) throws IOException {
+        final int workerCount = Math.max(1, threadCount);
+        final List<Path> runs = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger nextGameId = new AtomicInteger();
+        final int gameCount = database.size();
+        //a posting takes 32 bytes at most, the 16 bytes of its key and value in a run and 16 more while the run is sorted
+        final long runSize = RUN_MEMORY / ((long) workerCount * 4 * Long.BYTES);
+        final int runCapacity = (int) Math.max(MIN_RUN_SIZE, Math.min(runSize, Integer.MAX_VALUE - 8));
+        final AtomicBoolean failed = new AtomicBoolean();
+        final BooleanSupplier isStopped = () -> failed.get() || stopCondition.getAsBoolean();
+        final ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            final List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(executor.submit(() -> {
+                    try {
+                        final Run run = new Run(runCapacity);
+                        int gameId;
+                        while (!isStopped.getAsBoolean() && (gameId = nextGameId.getAndIncrement()) < gameCount) {
+                            addPostings(database.getGame(gameId), run, path, runs);
+                        }
+                        if (!isStopped.getAsBoolean()) {
+                            run.write(path, runs);
+                        }
+                        return null;
+                    } catch (final IOException | RuntimeException | Error e) {
+                        //the other threads stop at their next game instead of building an index that is thrown away
+                        failed.set(true);
+                        throw e;
+                    }
+                }));
+            }
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+            if (stopCondition.getAsBoolean()) {
+                throw new CancellationException("The position index " + path + " was not finished!");
+            }
+            merge(runs, path, gameCount);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("The position index " + path + " was not finished!", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException("The position index " + path + " could not be built: " + e.getCause(), e.getCause());
+        } finally {
+            //the threads are stopped and waited for before the runs are deleted, so no thread reads the database or writes a
+            //run once the build has returned
+            failed.set(true);
+            awaitTermination(executor);
+            for (final Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+        return open(path);
+    }
+
+    //waits until the threads of the build have finished the game they are on, an interrupt is kept for the caller but does not
+    //cut the wait short
+    private static void awaitTermination(final ExecutorService executor) {
+        executor.shutdown();
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (final InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //replays a game and adds a posting for every position of it, the position after the last move has no next move
+    private static void addPostings(final GameRecord game, final Run run, final Path path, final List<Path> runs) throws IOException {
+        final int resultCode = GameDatabase.getResultCode(game.getResult());
+        final List<Move> moves = new ArrayList<>(game.getPlyCount());
+        final Board finalBoard = game.replay(moves);
+        final int plyCount = Math.min(moves.size(), MAX_PLY);
+        for (int ply = 0; ply < plyCount; ply++) {
+            final Move move = moves.get(ply);
+            run.add(move.getBoard().getZobristKey(), createValue(game.getId(), resultCode, ply, PackedMove.fromMove(move)), path, runs);
+        }
+        if (moves.size() < MAX_PLY) {
+            run.add(finalBoard.getZobristKey(), createValue(game.getId(), resultCode, moves.size(), PackedMove.NO_MOVE), path, runs);
+        }
+    }
+
+    //merges the sorted runs into the index file, the directory is written once all of the postings are written
+    private static void merge(final List<Path> runs, final Path path, final int gameCount) throws IOException {
+        final PriorityQueue<RunReader> readers = new PriorityQueue<>();
+        final long[] bucketSizes = new long[DIRECTORY_SIZE - 1];
+        long postingCount = 0;
+        try {
+            for (final Path run : runs) {
+                final RunReader reader = new RunReader(run);
+                if (reader.next()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+                output.write(MAGIC);
+                output.writeLong(0);
+                output.writeLong(0);
+                for (int i = 0; i < DIRECTORY_SIZE; i++) {
+                    output.writeLong(0);
+                }
+                while (!readers.isEmpty()) {
+                    final RunReader reader = readers.poll();
+                    output.writeLong(reader.key);
+                    output.writeLong(reader.value);
+                    bucketSizes[getBucket(reader.key)]++;
+                    postingCount++;
+                    if (reader.next()) {
+                        readers.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                }
+            }
+        } finally {
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+        }
+        final ByteBuffer header = ByteBuffer.allocate((int) (POSTINGS_START - MAGIC.length));
+        header.putLong(postingCount);
+        header.putLong(gameCount);
+        long bucketStart = 0;
+        for (int bucket = 0; bucket < DIRECTORY_SIZE; bucket++) {
+            header.putLong(bucketStart);
+            if (bucket < bucketSizes.length) {
+                bucketStart += bucketSizes[bucket];
+            }
+        }
+        header.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            long position = MAGIC.length;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+            channel.force(false);
+        }
+    }
+
+    //the postings a thread has collected and not yet written
+    private static final class Run {
+
+        private final long[] keys;
+        private final long[] values;
+        private int size;
+
+        Run(final int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+        }
+
+        void add(final long key, final long value, final Path path, final List<Path> runs) throws IOException {
+            if (this.size == this.keys.length) {
+                write(path, runs);
+            }
+            this.keys[this.size] = key;
+            this.values[this.size] = value;
+            this.size++;
+        }
+
+        //sorts the postings and writes them to a run file next to the index file
+        void write(final Path path, final List<Path> runs) throws IOException {
+            if (this.size == 0) {
+                return;
+            }
+            sort();
+            final Path run = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName() + ".", ".run");
+            runs.add(run);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+                output.writeInt(this.size);
+                for (int i = 0; i < this.size; i++) {
+                    output.writeLong(this.keys[i]);
+                    output.writeLong(this.values[i]);
+                }
+            }
+            this.size = 0;
+        }
+
+        //a radix sort on the keys, 16 bits at a time from the lowest bits up. every pass keeps the order of the postings with
+        //the same digit, so postings with the same key stay in the order of their games. the arrays the postings are moved into
+        //are only made for the sort, so a thread that is collecting postings holds half the memory
+        private void sort() {
+            long[] keys = this.keys;
+            long[] values = this.values;
+            long[] sortedKeys = new long[this.size];
+            long[] sortedValues = new long[this.size];
+            final int[] counts = new int[1 << RADIX_BITS];
+            for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+                Arrays.fill(counts, 0);
+                for (int i = 0; i < this.size; i++) {
+                    counts[getDigit(keys[i], shift)]++;
+                }
+                int start = 0;
+                for (int digit = 0; digit < counts.length; digit++) {
+                    final int count = counts[digit];
+                    counts[digit] = start;
+                    start += count;
+                }
+                for (int i = 0; i < this.size; i++) {
+                    final int target = counts[getDigit(keys[i], shift)]++;
+                    sortedKeys[target] = keys[i];
+                    sortedValues[target] = values[i];
+                }
+                final long[] swappedKeys = keys;
+                keys = sortedKeys;
+                sortedKeys = swappedKeys;
+                final long[] swappedValues = values;
+                values = sortedValues;
+                sortedValues = swappedValues;
+            }
+            //an odd number of passes leaves the sorted postings in the arrays of the sort
+            if (keys != this.keys) {
+                System.arraycopy(keys, 0, this.keys, 0, this.size);
+                System.arraycopy(values, 0, this.values, 0, this.size);
+            }
+        }
+
+        //the keys are sorted as signed longs, so the sign bit is flipped before the digits are taken
+        private static int getDigit(final long key, final int shift) {
+            return (int) (((key ^ Long.MIN_VALUE) >>> shift) & ((1 << RADIX_BITS) - 1));
+        }
+    }
+
+    //reads the postings of a run file in order while the runs are merged
+    private static final class RunReader implements Comparable<RunReader>, Closeable {
+
+        private final DataInputStream input;
+        private int remaining;
+        private long key;
+        private long value;
+
+        RunReader(final Path run) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+            this.remaining = this.input.readInt();
+        }
+
+        boolean next() throws IOException {
+            if (this.remaining == 0) {
+                return false;
+            }
+            this.key = this.input.readLong();
+            this.value = this.input.readLong();
+            this.remaining--;
+            return true;
+        }
+
+        //postings with the same key are merged in the order of their games
+        @Override
+        public int compareTo(final RunReader other) {
+            final int compare = Long.compare(this.key, other.key);
+            return compare != 0 ? compare : Long.compareUnsigned(this.value, other.value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.input.close();
+        }
+    }
+
+    //a game and the ply in it at which a position was reached
+    public static final class Occurrence {
+
+        private final long value;
+
+        Occurrence(final long value) {
+            this.value = value;
+        }
+
+        public int getGameId() {
+            return PositionIndex.getGameId(this.value);
+        }
+
+        public int getPly() {
+            return PositionIndex.getPly(this.value);
+        }
+
+        public String getResult() {
+            return GameDatabase.getResult(PositionIndex.getResultCode(this.value));
+        }
+
+        //overridden toString() method
+        @Override
+        public String toString() {
+            return "game " + getGameId() + " ply " + getPly() + " " + getResult();
+        }
+    }
+
+    //a move that was played from a position, how often it was played and how the games it was played in ended
+    public static final class MoveStatistics {
+
+        private final Move move;
+        private int count;
+        private int whiteWins;
+        private int blackWins;
+        private int draws;
+
+        MoveStatistics(final Move move) {
+            this.move = move;
+        }
+
+        //counts a game with the result code of the game database, a game without a result only counts towards the count
+        void add(final int resultCode) {
+            this.count++;
+            switch (resultCode) {
+                case 1:
+                    this.whiteWins++;
+                    break;
+                case 2:
+                    this.blackWins++;
+                    break;
+                case 3:
+                    this.draws++;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        public Move getMove() {
+            return this.move;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        public int getWhiteWins() {
+            return this.whiteWins;
+        }
+
+        public int getBlackWins() {
+            return this.blackWins;
+        }
+
+        public int getDraws() {
+            return this.draws;
+        }
+
+        //overridden toString() method
+        @Override
+        public String toString() {
+            return this.move + " " + this.count + " (+" + this.whiteWins + " =" + this.draws + " -" + this.blackWins + ")";
+        }
+    }
+
+    //a tool to build and ask the position index of a game database from the command line, a query without a FEN string asks
+    //for the starting position
+    //  java chessProject.database.PositionIndex <database> build [threads]
+    //  java chessProject.database.PositionIndex <database> query [fen]
+    //  java chessProject.database.PositionIndex <database> bench [lookups]
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("usage: PositionIndex <database> build [threads] | query [fen] | bench [lookups]");
+            return;
+        }
+        final Path databasePath = Paths.get(args[0]);
+        final Path indexPath = getIndexPath(databasePath);
+        final long start = System.nanoTime();
+        if (args[1].equals("build")) {
+            final int threadCount = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            try (GameDatabase database = GameDatabase.open(databasePath);
+                 PositionIndex index = build(database, indexPath, threadCount)) {
+                System.out.println(index.size() + " positions of " + database.size() + " games indexed in " +
+                                   (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        } else if (args[1].equals("query")) {
+            final Board board = args.length > 2 ? FenUtilities.createBoardFromFEN(args[2]) : Board.createStandardBoard();
+            try (PositionIndex index = open(indexPath)) {
+                final long queryStart = System.nanoTime();
+                final int count = index.countGames(board);
+                final List<Occurrence> occurrences = index.findGames(board, 10);
+                final List<MoveStatistics> nextMoves = index.getNextMoves(board);
+                System.out.println(count + " times reached, answered in " + (System.nanoTime() - queryStart) / 1000 + " us");
+                System.out.println("games: " + occurrences);
+                System.out.println("next moves: " + nextMoves);
+            }
+        } else if (args[1].equals("bench")) {
+            final int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+            try (PositionIndex index = open(indexPath)) {
+                final Random random = new Random(1);
+                final long[] keys = new long[lookups];
+                for (int i = 0; i < lookups; i++) {
+                    keys[i] = index.size() > 0 && i % 2 == 0 ? index.getKey((long) (random.nextDouble() * index.size())) : random.nextLong();
+                }
+                final long lookupStart = System.nanoTime();
+                long found = 0;
+                for (final long key : keys) {
+                    final long posting = index.findFirstPosting(key);
+                    if (posting < index.size() && index.getKey(posting) == key) {
+                        found++;
+                    }
+                }
+                final long elapsedNanos = System.nanoTime() - lookupStart;
+                System.out.println(lookups + " lookups in " + index.size() + " positions, " + found + " found, " +
+                                   elapsedNanos / lookups + " ns per lookup");
+            }
+        } else {
+            System.out.println("unknown command " + args[1]);
+        }
+    }
+}
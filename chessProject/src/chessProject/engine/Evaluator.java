@@ -0,0 +1,123 @@
+package chessProject.engine;
+
+import chessProject.Alliance;
+import chessProject.Piece.PieceType;
+import chessProject.SearchBoard;
+//A utility class that scores a position for the search. The score is the material of both sides plus a bonus for every piece
+//standing on a good tile for its kind, and it is given from the side of the player to move, so a positive score is good for the
+//player to move. The tables are written from the side of white with the eighth rank first, which is the same order the tiles
+//are numbered in, a black piece reads the table of the tile mirrored over the middle of the board.
+public final class Evaluator {
+
+    //the value of every piece type in centipawns, in the order of the piece types
+    private static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    private static final int[] PAWN_TABLE = {
+         0,  0,  0,  0,  0,  0,  0,  0,
+        50, 50, 50, 50, 50, 50, 50, 50,
+        10, 10, 20, 30, 30, 20, 10, 10,
+         5,  5, 10, 25, 25, 10,  5,  5,
+         0,  0,  0, 20, 20,  0,  0,  0,
+         5, -5,-10,  0,  0,-10, -5,  5,
+         5, 10, 10,-20,-20, 10, 10,  5,
+         0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] KNIGHT_TABLE = {
+        -50,-40,-30,-30,-30,-30,-40,-50,
+        -40,-20,  0,  0,  0,  0,-20,-40,
+        -30,  0, 10, 15, 15, 10,  0,-30,
+        -30,  5, 15, 20, 20, 15,  5,-30,
+        -30,  0, 15, 20, 20, 15,  0,-30,
+        -30,  5, 10, 15, 15, 10,  5,-30,
+        -40,-20,  0,  5,  5,  0,-20,-40,
+        -50,-40,-30,-30,-30,-30,-40,-50
+    };
+
+    private static final int[] BISHOP_TABLE = {
+        -20,-10,-10,-10,-10,-10,-10,-20,
+        -10,  0,  0,  0,  0,  0,  0,-10,
+        -10,  0,  5, 10, 10,  5,  0,-10,
+        -10,  5,  5, 10, 10,  5,  5,-10,
+        -10,  0, 10, 10, 10, 10,  0,-10,
+        -10, 10, 10, 10, 10, 10, 10,-10,
+        -10,  5,  0,  0,  0,  0,  5,-10,
+        -20,-10,-10,-10,-10,-10,-10,-20
+    };
+
+    private static final int[] ROOK_TABLE = {
+         0,  0,  0,  0,  0,  0,  0,  0,
+         5, 10, 10, 10, 10, 10, 10,  5,
+        -5,  0,  0,  0,  0,  0,  0, -5,
+        -5,  0,  0,  0,  0,  0,  0, -5,
+        -5,  0,  0,  0,  0,  0,  0, -5,
+        -5,  0,  0,  0,  0,  0,  0, -5,
+        -5,  0,  0,  0,  0,  0,  0, -5,
+         0,  0,  0,  5,  5,  0,  0,  0
+    };
+
+    private static final int[] QUEEN_TABLE = {
+        -20,-10,-10, -5, -5,-10,-10,-20,
+        -10,  0,  0,  0,  0,  0,  0,-10,
+        -10,  0,  5,  5,  5,  5,  0,-10,
+         -5,  0,  5,  5,  5,  5,  0, -5,
+          0,  0,  5,  5,  5,  5,  0, -5,
+        -10,  5,  5,  5,  5,  5,  0,-10,
+        -10,  0,  5,  0,  0,  0,  0,-10,
+        -20,-10,-10, -5, -5,-10,-10,-20
+    };
+
+    private static final int[] KING_TABLE = {
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -30,-40,-40,-50,-50,-40,-40,-30,
+        -20,-30,-30,-40,-40,-30,-30,-20,
+        -10,-20,-20,-20,-20,-20,-20,-10,
+         20, 20,  0,  0,  0,  0, 20, 20,
+         20, 30, 10,  0,  0, 10, 30, 20
+    };
+
+    //the tables in the order of the piece types
+    private static final int[][] PIECE_TABLES = {PAWN_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_TABLE};
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    //a black piece on a tile reads the table at the tile of the same column on the mirrored row
+    private static final int MIRROR = 56;
+
+    //Constructor for evaluator, a runtime exception is used if the class is initiated.
+    private Evaluator() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //the value of a piece type, used to order the captures of the search
+    public static int getPieceValue(final PieceType pieceType) {
+        return PIECE_VALUES[pieceType.ordinal()];
+    }
+
+    //the value of the piece with the given bitboard index
+    static int getPieceValue(final int pieceIndex) {
+        return PIECE_VALUES[pieceIndex % PIECE_TYPES.length];
+    }
+
+    //scores the position from the side of the player to move
+    public static int evaluate(final SearchBoard board) {
+        final int score = score(board, Alliance.WHITE) - score(board, Alliance.BLACK);
+        return board.getSideToMove().isWhite() ? score : -score;
+    }
+
+    //the material and the table bonus of every piece of one side
+    private static int score(final SearchBoard board, final Alliance alliance) {
+        final int mirror = alliance.isWhite() ? 0 : MIRROR;
+        int score = 0;
+        for (final PieceType pieceType : PIECE_TYPES) {
+            final int pieceValue = PIECE_VALUES[pieceType.ordinal()];
+            final int[] pieceTable = PIECE_TABLES[pieceType.ordinal()];
+            for (long pieces = board.getPieceBitboard(pieceType, alliance); pieces != 0; pieces &= pieces - 1) {
+                score += pieceValue + pieceTable[Long.numberOfTrailingZeros(pieces) ^ mirror];
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,233 @@
+package chessProject.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import chessProject.Board;
+//A search that uses several cores with lazy SMP. Every thread runs its own search engine on the same position and all of the
+//engines share one transposition table. The threads do not split the tree between them, instead the helper threads fill the
+//table with positions the main thread reaches a little later, so the main thread finds more cutoffs and more stored best moves
+//and finishes each depth sooner. Half of the helpers start one depth deeper than the main thread so the threads do not all walk
+//the same part of the tree at the same time.
+//
+//The main search runs on the thread that calls search and decides the limits and the result, the helpers run on a pool of
+//daemon threads and are stopped as soon as the main search is done.
+public final class ParallelSearch {
+
+    //how long to wait for a helper between two stop requests, in milliseconds
+    private static final long HELPER_STOP_WAIT = 1L;
+
+    private final SearchEngine mainEngine;
+    private final SearchEngine[] helperEngines;
+    private final TranspositionTable transpositionTable;
+    private final ExecutorService helperPool;
+    private List<ThreadStatistics> lastStatistics;
+
+    private ParallelSearch(final Builder builder) {
+        this.transpositionTable = new TranspositionTable(builder.hashSizeInMegabytes);
+        this.mainEngine = new SearchEngine.Builder()
+                .setMaxDepth(builder.maxDepth)
+                .setMaxNodes(builder.maxNodes)
+                .setTimeLimit(builder.timeLimitMillis)
+                .setTranspositionTable(this.transpositionTable)
+                .setStartsTableSearch(false)
+                .build();
+        this.helperEngines = new SearchEngine[builder.threadCount - 1];
+        for (int i = 0; i < this.helperEngines.length; i++) {
+            //the helpers have no limits of their own, they run until the main search stops them
+            this.helperEngines[i] = new SearchEngine.Builder()
+                    .setStartDepth(i % 2 == 0 ? 2 : 1)
+                    .setTranspositionTable(this.transpositionTable)
+                    .setStartsTableSearch(false)
+                    .setCreatesPrincipalVariation(false)
+                    .build();
+        }
+        this.helperPool = this.helperEngines.length == 0 ? null :
+                Executors.newFixedThreadPool(this.helperEngines.length, runnable -> {
+                    final Thread thread = new Thread(runnable, "search-helper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.lastStatistics = Collections.emptyList();
+    }
+
+    //searches the board with every thread and returns the result of the main search with the nodes of all of the threads
+    public SearchResult search(final Board board) {
+        return search(board, () -> false);
+    }
+
+    //searches the board like search does but also stops when the stop condition becomes true, the condition is only asked by
+    //the main search since the helpers are stopped when the main search is done
+    public SearchResult search(final Board board, final BooleanSupplier stopCondition) {
+        //the age of the shared table goes up once for the whole search, before any thread stores an entry
+        this.transpositionTable.newSearch();
+        //the pieces of the board are put together here, before the helpers start, so the threads only read them
+        board.getAllPieces();
+        final List<Future<SearchResult>> helperResults = new ArrayList<>(this.helperEngines.length);
+        for (final SearchEngine helperEngine : this.helperEngines) {
+            helperResults.add(this.helperPool.submit(() -> helperEngine.search(board)));
+        }
+        final SearchResult mainResult = this.mainEngine.search(board, stopCondition);
+        final List<ThreadStatistics> statistics = new ArrayList<>(this.helperEngines.length + 1);
+        statistics.add(new ThreadStatistics(0, mainResult.getNodes(), mainResult.getDepth(), mainResult.getElapsedMillis()));
+        long totalNodes = mainResult.getNodes();
+        for (int i = 0; i < this.helperEngines.length; i++) {
+            final SearchResult helperResult = stopHelper(this.helperEngines[i], helperResults.get(i));
+            statistics.add(new ThreadStatistics(i + 1, helperResult.getNodes(), helperResult.getDepth(),
+                    helperResult.getElapsedMillis()));
+            totalNodes += helperResult.getNodes();
+        }
+        this.lastStatistics = Collections.unmodifiableList(statistics);
+        return new SearchResult(mainResult.getBestMove(), mainResult.getPrincipalVariation(), mainResult.getScore(),
+                mainResult.getDepth(), totalNodes, mainResult.getElapsedMillis(), this.transpositionTable.getHashfull());
+    }
+
+    //asks the running search to stop, it returns the best move of the deepest depth the main search finished
+    public void stop() {
+        this.mainEngine.stop();
+        for (final SearchEngine helperEngine : this.helperEngines) {
+            helperEngine.stop();
+        }
+    }
+
+    //stops the helper threads for good, the parallel search can not be used afterwards
+    public void shutdown() {
+        if (this.helperPool != null) {
+            this.helperPool.shutdownNow();
+        }
+    }
+
+    //getter method for the statistics of every thread of the last search, the main thread comes first
+    public List<ThreadStatistics> getLastStatistics() {
+        return this.lastStatistics;
+    }
+
+    //getter method for the number of threads, the main thread included
+    public int getThreadCount() {
+        return this.helperEngines.length + 1;
+    }
+
+    //getter method for the shared transposition table
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    //a helper that has not started its search yet when it is asked to stop would forget the request when it starts, so the
+    //request is repeated until the helper is done
+    private static SearchResult stopHelper(final SearchEngine helperEngine, final Future<SearchResult> helperResult) {
+        try {
+            while (true) {
+                helperEngine.stop();
+                try {
+                    return helperResult.get(HELPER_STOP_WAIT, TimeUnit.MILLISECONDS);
+                } catch (final TimeoutException e) {
+                    //the helper is still finishing its first depth
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while stopping a search helper!", e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException("A search helper failed!", e.getCause());
+        }
+    }
+
+    //the work one thread did during a search
+    public static final class ThreadStatistics {
+        private final int threadIndex;
+        private final long nodes;
+        private final int depth;
+        private final long elapsedMillis;
+
+        ThreadStatistics(final int threadIndex, final long nodes, final int depth, final long elapsedMillis) {
+            this.threadIndex = threadIndex;
+            this.nodes = nodes;
+            this.depth = depth;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        //getter method for the index of the thread, the main thread is 0
+        public int getThreadIndex() {
+            return this.threadIndex;
+        }
+
+        public long getNodes() {
+            return this.nodes;
+        }
+
+        //getter method for the deepest depth the thread finished
+        public int getDepth() {
+            return this.depth;
+        }
+
+        public long getElapsedMillis() {
+            return this.elapsedMillis;
+        }
+
+        public long getNodesPerSecond() {
+            return this.elapsedMillis == 0 ? 0 : this.nodes * 1000L / this.elapsedMillis;
+        }
+
+        //overridden toString() method
+        @Override
+        public String toString() {
+            return String.format("thread %2d depth %2d %,13d nodes %,12d nps", this.threadIndex, this.depth, this.nodes,
+                    getNodesPerSecond());
+        }
+    }
+
+    //the builder of the parallel search, the limits are the limits of the main search
+    public static class Builder {
+        private int threadCount;
+        private int hashSizeInMegabytes;
+        private int maxDepth;
+        private long maxNodes;
+        private long timeLimitMillis;
+
+        public Builder() {
+            this.threadCount = Runtime.getRuntime().availableProcessors();
+            this.hashSizeInMegabytes = TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES;
+            this.maxDepth = SearchEngine.MAX_PLY / 2;
+            this.maxNodes = Long.MAX_VALUE;
+            this.timeLimitMillis = Long.MAX_VALUE;
+        }
+
+        //the number of threads including the main thread
+        public Builder setThreadCount(final int threadCount) {
+            this.threadCount = Math.max(1, threadCount);
+            return this;
+        }
+
+        public Builder setHashSize(final int hashSizeInMegabytes) {
+            this.hashSizeInMegabytes = hashSizeInMegabytes;
+            return this;
+        }
+
+        public Builder setMaxDepth(final int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        public Builder setMaxNodes(final long maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public Builder setTimeLimit(final long timeLimitMillis) {
+            this.timeLimitMillis = timeLimitMillis;
+            return this;
+        }
+
+        public ParallelSearch build() {
+            return new ParallelSearch(this);
+        }
+    }
+}
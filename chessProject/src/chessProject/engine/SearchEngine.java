@@ -0,0 +1,450 @@
+package chessProject.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import chessProject.Board;
+import chessProject.Move;
+import chessProject.MoveTransition;
+import chessProject.PackedMove;
+import chessProject.SearchBoard;
+//The computer opponent. It runs a negamax alpha-beta search with iterative deepening: the position is searched to depth 1, then
+//to depth 2 and so on until a limit on the depth, the number of nodes or the time is reached, and the best move of the deepest
+//finished depth is played. Every depth starts with the line the depth before found best, which makes the alpha-beta cutoffs
+//come early. At the end of the depth a quiescence search keeps playing the captures so a position is never scored in the
+//middle of an exchange.
+//
+//Every searched position is stored in a transposition table under its zobrist key. A position that is reached again is not
+//searched again when the stored depth is deep enough, and otherwise the stored best move is tried first. Several engines can
+//share one table.
+//
+//The search runs on a search board, so the moves are packed ints that are made and unmade in place. All of the arrays the
+//search uses are made once when the engine is built, nothing is allocated while the tree is walked. The moves of the result are
+//turned back into moves of the board class by playing them with Player.makeMove.
+public final class SearchEngine {
+
+    //the deepest ply the search can reach including the quiescence search
+    public static final int MAX_PLY = 64;
+    //the score of being mated right now, a mate further away scores a little less so the shortest mate is preferred
+    public static final int MATE_SCORE = 100_000;
+
+    private static final int INFINITY = MATE_SCORE + 1;
+    //the limits are checked every time the node count passes a multiple of this mask plus one
+    private static final long LIMIT_CHECK_MASK = 1023L;
+    //the stop condition of a search that only stops at its limits
+    private static final BooleanSupplier NEVER_STOP = () -> false;
+
+    //the move ordering scores, the move of the principal variation or of the transposition table goes first, then the captures
+    //with the most valuable victim and the least valuable attacker, then the quiet moves that caused a cutoff at the same ply before
+    private static final int PV_MOVE_SCORE = 1_000_000;
+    private static final int CAPTURE_SCORE = 100_000;
+    private static final int PROMOTION_SCORE = 90_000;
+    private static final int FIRST_KILLER_SCORE = 80_000;
+    private static final int SECOND_KILLER_SCORE = 70_000;
+
+    private final int startDepth;
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long timeLimitMillis;
+    private final TranspositionTable transpositionTable;
+    //whether the engine starts a new search of the table itself, the engines of a parallel search leave that to the parallel
+    //search so the age of the shared table goes up once per search and not once per thread
+    private final boolean startsTableSearch;
+    //whether the engine turns its best line into moves of the board it searched, the helpers of a parallel search do not
+    //since their lines are thrown away and only the main thread should make moves on the board the threads share
+    private final boolean createsPrincipalVariation;
+
+    //the moves of every ply, ply n writes its moves starting at n * SearchBoard.MAX_MOVES
+    private final int[] moves;
+    private final int[] moveScores;
+    //the principal variation of every ply, the line found below ply n is kept in row n
+    private final int[][] pvTable;
+    private final int[] pvLength;
+    //the best line of the last finished depth, it is searched first by the next depth
+    private final int[] previousPv;
+    private int previousPvLength;
+    //two quiet moves per ply that caused a cutoff
+    private final int[][] killerMoves;
+
+    private SearchBoard board;
+    private long nodes;
+    private long deadline;
+    private boolean isStopped;
+    private volatile boolean isStopRequested;
+    private BooleanSupplier stopCondition;
+
+    private SearchEngine(final Builder builder) {
+        this.startDepth = Math.min(builder.startDepth, builder.maxDepth);
+        this.maxDepth = builder.maxDepth;
+        this.maxNodes = builder.maxNodes;
+        this.timeLimitMillis = builder.timeLimitMillis;
+        this.transpositionTable = builder.transpositionTable != null ? builder.transpositionTable :
+                new TranspositionTable(TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES);
+        this.startsTableSearch = builder.startsTableSearch;
+        this.createsPrincipalVariation = builder.createsPrincipalVariation;
+        this.moves = new int[MAX_PLY * SearchBoard.MAX_MOVES];
+        this.moveScores = new int[MAX_PLY * SearchBoard.MAX_MOVES];
+        this.pvTable = new int[MAX_PLY][MAX_PLY];
+        this.pvLength = new int[MAX_PLY];
+        this.previousPv = new int[MAX_PLY];
+        this.killerMoves = new int[MAX_PLY][2];
+    }
+
+    //searches the board and returns the best move found within the limits
+    public SearchResult search(final Board chessBoard) {
+        return search(chessBoard, NEVER_STOP);
+    }
+
+    //searches the board like search does but also stops when the stop condition becomes true. Unlike a call to stop, which
+    //is forgotten when it comes before the search starts, the condition is asked during the whole search
+    public SearchResult search(final Board chessBoard, final BooleanSupplier stopCondition) {
+        final long startTime = System.currentTimeMillis();
+        this.deadline = this.timeLimitMillis == Long.MAX_VALUE ? Long.MAX_VALUE : startTime + this.timeLimitMillis;
+        this.board = new SearchBoard(chessBoard);
+        this.nodes = 0L;
+        this.isStopped = false;
+        this.isStopRequested = false;
+        this.stopCondition = stopCondition;
+        this.previousPvLength = 0;
+        if (this.startsTableSearch) {
+            this.transpositionTable.newSearch();
+        }
+        for (final int[] killers : this.killerMoves) {
+            killers[0] = 0;
+            killers[1] = 0;
+        }
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = this.startDepth; depth <= this.maxDepth; depth++) {
+            final int score = negamax(depth, -INFINITY, INFINITY, 0);
+            //a depth that was stopped half way is thrown away, the first depth always finishes so there is always a move
+            if (this.isStopped) {
+                break;
+            }
+            bestScore = score;
+            completedDepth = depth;
+            this.previousPvLength = this.pvLength[0];
+            System.arraycopy(this.pvTable[0], 0, this.previousPv, 0, this.previousPvLength);
+            //there is nothing left to find once a mate is found or there are no moves at all
+            if (this.previousPvLength == 0 || Math.abs(score) >= MATE_SCORE - MAX_PLY) {
+                break;
+            }
+        }
+        final List<Move> principalVariation = this.createsPrincipalVariation ?
+                createPrincipalVariation(chessBoard) : Collections.emptyList();
+        final Move bestMove = principalVariation.isEmpty() ? Move.MoveFactory.getNullMove() : principalVariation.get(0);
+        return new SearchResult(bestMove, principalVariation, bestScore, completedDepth, this.nodes,
+                System.currentTimeMillis() - startTime, this.transpositionTable.getHashfull());
+    }
+
+    //asks a running search to stop, the search returns the best move of the deepest depth it finished
+    public void stop() {
+        this.isStopRequested = true;
+    }
+
+    //getter method for the transposition table
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    private int negamax(final int depth, final int alpha, final int beta, final int ply) {
+        this.pvLength[ply] = ply;
+        if (depth <= 0) {
+            return quiescence(alpha, beta, ply);
+        }
+        if (shouldStop(ply)) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(this.board);
+        }
+        final long key = this.board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        int hashMove = 0;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            hashMove = TranspositionTable.getMove(entry);
+            //the root always searches so that it has a best move and a principal variation
+            if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+                final int hashScore = scoreFromTable(TranspositionTable.getScore(entry), ply);
+                final int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT ||
+                    (bound == TranspositionTable.LOWER_BOUND && hashScore >= beta) ||
+                    (bound == TranspositionTable.UPPER_BOUND && hashScore <= alpha)) {
+                    return hashScore;
+                }
+            }
+        }
+        final boolean isInCheck = this.board.isInCheck();
+        //a position in check is searched one ply deeper so the search does not stop right in the middle of a mating attack
+        final int searchDepth = isInCheck ? depth : depth - 1;
+        final int startIndex = ply * SearchBoard.MAX_MOVES;
+        final int endIndex = this.board.generateMoves(this.moves, startIndex);
+        scoreMoves(startIndex, endIndex, ply, hashMove);
+        int bestScore = alpha;
+        int bestMove = 0;
+        int legalMoves = 0;
+        for (int i = startIndex; i < endIndex; i++) {
+            final int move = pickNextMove(i, endIndex);
+            if (!this.board.makeMove(move)) {
+                continue;
+            }
+            legalMoves++;
+            final int score = -negamax(searchDepth, -beta, -bestScore, ply + 1);
+            this.board.unmakeMove();
+            if (this.isStopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                updatePrincipalVariation(ply, move);
+                if (score >= beta) {
+                    if (!PackedMove.isAttack(move)) {
+                        storeKillerMove(ply, move);
+                    }
+                    this.transpositionTable.store(key, move, scoreToTable(score, ply), depth, TranspositionTable.LOWER_BOUND);
+                    return score;
+                }
+            }
+        }
+        if (legalMoves == 0) {
+            return isInCheck ? -MATE_SCORE + ply : 0;
+        }
+        this.transpositionTable.store(key, bestMove, scoreToTable(bestScore, ply), depth,
+                bestMove == 0 ? TranspositionTable.UPPER_BOUND : TranspositionTable.EXACT);
+        return bestScore;
+    }
+
+    //keeps playing the captures and promotions until the position is quiet. The player to move can always choose not to
+    //capture, so the score of the position itself is a lower bound of the score
+    private int quiescence(final int alpha, final int beta, final int ply) {
+        this.pvLength[ply] = ply;
+        if (shouldStop(ply)) {
+            return 0;
+        }
+        final int standPat = Evaluator.evaluate(this.board);
+        if (standPat >= beta || ply >= MAX_PLY - 1) {
+            return standPat;
+        }
+        int bestScore = Math.max(alpha, standPat);
+        final int startIndex = ply * SearchBoard.MAX_MOVES;
+        final int endIndex = keepCaptures(startIndex, this.board.generateMoves(this.moves, startIndex));
+        scoreMoves(startIndex, endIndex, ply, 0);
+        for (int i = startIndex; i < endIndex; i++) {
+            final int move = pickNextMove(i, endIndex);
+            if (!this.board.makeMove(move)) {
+                continue;
+            }
+            final int score = -quiescence(-beta, -bestScore, ply + 1);
+            this.board.unmakeMove();
+            if (this.isStopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                updatePrincipalVariation(ply, move);
+                if (score >= beta) {
+                    return score;
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    //counts the node and checks the limits now and then, the first depth is never stopped
+    private boolean shouldStop(final int ply) {
+        this.nodes++;
+        if ((this.nodes & LIMIT_CHECK_MASK) == 0 && this.previousPvLength > 0 &&
+            (this.isStopRequested || this.nodes >= this.maxNodes || System.currentTimeMillis() >= this.deadline ||
+             this.stopCondition.getAsBoolean())) {
+            this.isStopped = true;
+        }
+        return this.isStopped;
+    }
+
+    //moves the captures and promotions to the front of the moves of the ply and returns the index after the last one
+    private int keepCaptures(final int startIndex, final int endIndex) {
+        int index = startIndex;
+        for (int i = startIndex; i < endIndex; i++) {
+            final int move = this.moves[i];
+            if (PackedMove.isAttack(move) || PackedMove.isPromotion(move)) {
+                this.moves[index++] = move;
+            }
+        }
+        return index;
+    }
+
+    //gives every move of the ply an ordering score
+    private void scoreMoves(final int startIndex, final int endIndex, final int ply, final int hashMove) {
+        final int pvMove = ply < this.previousPvLength ? this.previousPv[ply] : 0;
+        final int[] killers = this.killerMoves[ply];
+        for (int i = startIndex; i < endIndex; i++) {
+            final int move = this.moves[i];
+            int score = 0;
+            if (move == pvMove || move == hashMove) {
+                score = PV_MOVE_SCORE;
+            } else if (PackedMove.isAttack(move)) {
+                final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+                final int victim = this.board.getPiece(destinationCoordinate);
+                //a pawn taken en passant is not on the destination tile
+                final int victimValue = victim == SearchBoard.NO_PIECE ? Evaluator.getPieceValue(0) :
+                        Evaluator.getPieceValue(victim);
+                score = CAPTURE_SCORE + victimValue * 10 -
+                        Evaluator.getPieceValue(this.board.getPiece(PackedMove.getCurrentCoordinate(move))) / 10;
+            } else if (PackedMove.isPromotion(move)) {
+                score = PROMOTION_SCORE;
+            } else if (move == killers[0]) {
+                score = FIRST_KILLER_SCORE;
+            } else if (move == killers[1]) {
+                score = SECOND_KILLER_SCORE;
+            }
+            this.moveScores[i] = score;
+        }
+    }
+
+    //swaps the move with the highest ordering score among the moves not tried yet into the given index and returns it,
+    //a cutoff usually comes after a few moves so sorting all of the moves up front would be wasted work
+    private int pickNextMove(final int index, final int endIndex) {
+        int bestIndex = index;
+        for (int i = index + 1; i < endIndex; i++) {
+            if (this.moveScores[i] > this.moveScores[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        if (bestIndex != index) {
+            final int move = this.moves[bestIndex];
+            final int moveScore = this.moveScores[bestIndex];
+            this.moves[bestIndex] = this.moves[index];
+            this.moveScores[bestIndex] = this.moveScores[index];
+            this.moves[index] = move;
+            this.moveScores[index] = moveScore;
+        }
+        return this.moves[index];
+    }
+
+    //the line of a ply becomes its move followed by the line found below it
+    private void updatePrincipalVariation(final int ply, final int move) {
+        final int[] line = this.pvTable[ply];
+        line[ply] = move;
+        final int childLength = this.pvLength[ply + 1];
+        if (childLength > ply + 1) {
+            System.arraycopy(this.pvTable[ply + 1], ply + 1, line, ply + 1, childLength - ply - 1);
+        }
+        this.pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    //a mate score counts the plies from the root, the table keeps it counted from the stored position instead so it stays
+    //right when the position is reached at another ply
+    private static int scoreToTable(final int score, final int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -MATE_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -MATE_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private void storeKillerMove(final int ply, final int move) {
+        final int[] killers = this.killerMoves[ply];
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+    }
+
+    //plays the best line on the board class to turn the packed moves into moves of the board
+    private List<Move> createPrincipalVariation(final Board chessBoard) {
+        final List<Move> principalVariation = new ArrayList<>();
+        Board currentBoard = chessBoard;
+        for (int i = 0; i < this.previousPvLength; i++) {
+            final Move move = PackedMove.toMove(currentBoard, this.previousPv[i]);
+            final MoveTransition transition = currentBoard.currentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                break;
+            }
+            principalVariation.add(move);
+            currentBoard = transition.getToBoard();
+        }
+        return principalVariation;
+    }
+
+    //the builder of the engine, every limit that is not set is unlimited except the depth
+    public static class Builder {
+        private int startDepth;
+        private int maxDepth;
+        private long maxNodes;
+        private long timeLimitMillis;
+        private TranspositionTable transpositionTable;
+        private boolean startsTableSearch;
+        private boolean createsPrincipalVariation;
+
+        public Builder() {
+            this.startDepth = 1;
+            this.startsTableSearch = true;
+            this.createsPrincipalVariation = true;
+            this.maxDepth = MAX_PLY / 2;
+            this.maxNodes = Long.MAX_VALUE;
+            this.timeLimitMillis = Long.MAX_VALUE;
+        }
+
+        public Builder setMaxDepth(final int maxDepth) {
+            this.maxDepth = Math.max(1, Math.min(maxDepth, MAX_PLY / 2));
+            return this;
+        }
+
+        //the depth the iterative deepening starts at, the helper engines of a parallel search start at different depths so
+        //they do not all search the same tree at the same time
+        Builder setStartDepth(final int startDepth) {
+            this.startDepth = Math.max(1, startDepth);
+            return this;
+        }
+
+        //whether the engine starts a new search of its table when it searches, the parallel search turns it off for all of its
+        //engines and starts the new search of the shared table once itself
+        Builder setStartsTableSearch(final boolean startsTableSearch) {
+            this.startsTableSearch = startsTableSearch;
+            return this;
+        }
+
+        //whether the engine turns its best line into moves, the helpers of a parallel search only report their nodes and
+        //depth so they leave the board alone
+        Builder setCreatesPrincipalVariation(final boolean createsPrincipalVariation) {
+            this.createsPrincipalVariation = createsPrincipalVariation;
+            return this;
+        }
+
+        public Builder setMaxNodes(final long maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public Builder setTimeLimit(final long timeLimitMillis) {
+            this.timeLimitMillis = timeLimitMillis;
+            return this;
+        }
+
+        //the table the engine stores its positions in, engines that are given the same table share it. When no table is set the
+        //engine makes its own table of the default size
+        public Builder setTranspositionTable(final TranspositionTable transpositionTable) {
+            this.transpositionTable = transpositionTable;
+            return this;
+        }
+
+        public SearchEngine build() {
+            return new SearchEngine(this);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package chessProject.engine;
+
+import java.util.Collections;
+import java.util.List;
+
+import chessProject.Move;
+//The result of a search: the best move, the line of moves the search expects both players to play after it (the principal
+//variation), the score of that line from the side of the player to move and how much work the search did to find it.
+public final class SearchResult {
+
+    private final Move bestMove;
+    private final List<Move> principalVariation;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+    private final int hashfull;
+
+    SearchResult(final Move bestMove,
+                 final List<Move> principalVariation,
+                 final int score,
+                 final int depth,
+                 final long nodes,
+                 final long elapsedMillis,
+                 final int hashfull) {
+        this.bestMove = bestMove;
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+        this.hashfull = hashfull;
+    }
+
+    //getter method for the best move, it is the null move when the player to move has no legal moves
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    //getter method for the principal variation, the best move is its first move
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    //getter method for the score in centipawns
+    public int getScore() {
+        return this.score;
+    }
+
+    //getter method for the deepest depth the search finished
+    public int getDepth() {
+        return this.depth;
+    }
+
+    //getter method for the number of positions the search visited
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    //getter method for how full the transposition table was at the end of the search, in permille
+    public int getHashfull() {
+        return this.hashfull;
+    }
+
+    //checks whether the score is a forced mate for one of the players
+    public boolean isMateScore() {
+        return Math.abs(this.score) >= SearchEngine.MATE_SCORE - SearchEngine.MAX_PLY;
+    }
+
+    //overridden toString() method
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("depth ").append(this.depth);
+        if (isMateScore()) {
+            final int plies = SearchEngine.MATE_SCORE - Math.abs(this.score);
+            builder.append(" mate ").append(this.score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2);
+        } else {
+            builder.append(" score ").append(this.score);
+        }
+        builder.append(" nodes ").append(this.nodes).append(" time ").append(this.elapsedMillis)
+               .append(" hashfull ").append(this.hashfull).append(" pv");
+        for (final Move move : this.principalVariation) {
+            builder.append(' ').append(move);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package chessProject.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import chessProject.Board;
+import chessProject.Perft;
+//A benchmark for the parallel search. Every position is searched to a fixed depth with 1 thread, 2 threads, 4 threads and so on,
+//each time with an empty transposition table, and the time the main search needs to finish the depth is compared with the time
+//of the single thread. A speedup above 1 means the extra threads made the search finish sooner. The statistics of every thread of
+//the largest thread count are printed as well so it can be seen that every helper did its share of the work.
+//
+//Usage:
+//  SpeedupBenchmark [depth] [maxThreads] [hashSizeInMegabytes]
+public final class SpeedupBenchmark {
+
+    private static final int DEFAULT_DEPTH = 8;
+    private static final int DEFAULT_HASH_SIZE = 64;
+
+    //Constructor for speedup benchmark, a runtime exception is used if the class is initiated.
+    private SpeedupBenchmark() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int hashSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_HASH_SIZE;
+        final List<Integer> threadCounts = new ArrayList<>();
+        for (int threadCount = 1; threadCount < maxThreads; threadCount *= 2) {
+            threadCounts.add(threadCount);
+        }
+        threadCounts.add(maxThreads);
+        //the first searches warm up the just in time compiler and are not counted
+        runAll(Math.min(depth, 5), threadCounts, hashSize, false);
+        System.out.println(String.format("time to depth %d, %d MB hash", depth, hashSize));
+        runAll(depth, threadCounts, hashSize, true);
+    }
+
+    //searches every position with every thread count and prints the total time and speedup of every thread count
+    private static void runAll(final int depth, final List<Integer> threadCounts, final int hashSize, final boolean print) {
+        long singleThreadMillis = 0L;
+        for (final int threadCount : threadCounts) {
+            long totalMillis = 0L;
+            long totalNodes = 0L;
+            List<ParallelSearch.ThreadStatistics> lastStatistics = null;
+            for (final Perft.ReferencePosition position : Perft.ReferencePosition.values()) {
+                final Board board = position.createBoard();
+                final ParallelSearch search = new ParallelSearch.Builder()
+                        .setThreadCount(threadCount)
+                        .setHashSize(hashSize)
+                        .setMaxDepth(depth)
+                        .build();
+                final long startTime = System.nanoTime();
+                final SearchResult result = search.search(board);
+                totalMillis += (System.nanoTime() - startTime) / 1_000_000L;
+                totalNodes += result.getNodes();
+                lastStatistics = search.getLastStatistics();
+                search.shutdown();
+            }
+            if (threadCount == 1) {
+                singleThreadMillis = totalMillis;
+            }
+            if (print) {
+                System.out.println(String.format("%3d threads %,10d ms %,15d nodes %,12d nps speedup %.2f", threadCount,
+                        totalMillis, totalNodes, totalMillis == 0 ? 0 : totalNodes * 1000L / totalMillis,
+                        totalMillis == 0 ? 0.0 : (double) singleThreadMillis / totalMillis));
+                if (threadCount == threadCounts.get(threadCounts.size() - 1)) {
+                    System.out.println("  per thread, last position:");
+                    for (final ParallelSearch.ThreadStatistics statistics : lastStatistics) {
+                        System.out.println("  " + statistics);
+                    }
+                }
+            }
+        }
+    }
+}
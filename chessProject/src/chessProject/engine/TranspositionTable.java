@@ -0,0 +1,177 @@
+package chessProject.engine;
+
+import java.util.Arrays;
+//The transposition table of the search. The same position is reached through many different move orders, so the result of every
+//searched position is kept here under its zobrist key and a position that was already searched deep enough is not searched again.
+//
+//The table is two long arrays, one with the keys and one with the entries, so it holds no objects at all: the garbage collector
+//never has to look inside it and a table of several gigabytes costs the collector nothing. An entry packs the best move, the
+//score, the depth, the kind of bound the score is and the age of the search that stored it into one long.
+//
+//Many search threads can use the same table without locks. The key is stored xor-ed with the entry, so an entry only counts
+//when the stored key xor-ed with the entry gives back the key of the position. When two threads write the same slot at the
+//same time and the key of one thread ends up next to the entry of the other, the check fails and the slot is treated as empty,
+//a broken entry is never used.
+//
+//The slots are grouped in buckets of four. A new entry replaces the entry of the same position, or else the entry in its bucket
+//that is worth the least: an empty slot first, then the entries of older searches, then the entries with the shallowest depth.
+public final class TranspositionTable {
+
+    //the value returned by probe when the position is not in the table, a stored entry is never zero since its bound is not zero
+    public static final long NO_ENTRY = 0L;
+
+    //the kinds of bounds. An exact score is the score of the position, a lower bound means the real score is at least the score
+    //(the search was cut off) and an upper bound means the real score is at most the score (no move raised alpha)
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    //the size used when no size is given, in megabytes
+    public static final int DEFAULT_SIZE_IN_MEGABYTES = 16;
+
+    //a slot is a key and an entry, 16 bytes
+    private static final int BYTES_PER_SLOT = 2 * Long.BYTES;
+    private static final int BUCKET_SIZE = 4;
+    //each array can hold at most this many slots, which makes the largest table 16 gigabytes
+    private static final int MAX_SLOTS = 1 << 30;
+    //the number of slots looked at for the hashfull metric
+    private static final int HASHFULL_SAMPLE = 1000;
+
+    //the layout of an entry
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int AGE_SHIFT = 58;
+    private static final int AGE_MASK = 0x3F;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int bucketMask;
+    //the age of the current search, it goes up by one with every search and wraps around after 63. It is volatile since the
+    //threads that share the table read it while another thread starts the next search
+    private volatile int age;
+
+    //creates a table that uses at most the given number of megabytes, the number of slots is rounded down to a power of two
+    public TranspositionTable(final int sizeInMegabytes) {
+        if (sizeInMegabytes < 1) {
+            throw new RuntimeException("The transposition table needs at least 1 megabyte!");
+        }
+        final long requestedSlots = (long) sizeInMegabytes * 1024L * 1024L / BYTES_PER_SLOT;
+        final int slots = (int) Math.min(Long.highestOneBit(requestedSlots), MAX_SLOTS);
+        this.keys = new long[slots];
+        this.entries = new long[slots];
+        this.bucketMask = slots / BUCKET_SIZE - 1;
+        this.age = 0;
+    }
+
+    //starts a new search, the entries of earlier searches are kept but are the first ones to be replaced
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    //empties the table
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.entries, 0L);
+        this.age = 0;
+    }
+
+    //the entry of the position with the key, NO_ENTRY when the position is not in the table
+    public long probe(final long key) {
+        final int bucket = getBucket(key);
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            //the entry is read once so the check and the caller see the same value
+            final long entry = this.entries[slot];
+            if ((this.keys[slot] ^ entry) == key && entry != NO_ENTRY) {
+                return entry;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    //stores the result of a search of the position with the key. A move of 0 keeps the move already stored for the position
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        final int bucket = getBucket(key);
+        int replacedSlot = bucket;
+        int lowestWorth = Integer.MAX_VALUE;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            final long entry = this.entries[slot];
+            if ((this.keys[slot] ^ entry) == key && entry != NO_ENTRY) {
+                replacedSlot = slot;
+                break;
+            }
+            final int worth = getWorth(entry);
+            if (worth < lowestWorth) {
+                lowestWorth = worth;
+                replacedSlot = slot;
+            }
+        }
+        int storedMove = move;
+        if (storedMove == 0) {
+            final long oldEntry = this.entries[replacedSlot];
+            if ((this.keys[replacedSlot] ^ oldEntry) == key) {
+                storedMove = getMove(oldEntry);
+            }
+        }
+        final long entry = (storedMove & 0xFFFFL) |
+                           ((score & 0xFFFFFFFFL) << SCORE_SHIFT) |
+                           ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT) |
+                           ((long) bound << BOUND_SHIFT) |
+                           ((long) this.age << AGE_SHIFT);
+        this.keys[replacedSlot] = key ^ entry;
+        this.entries[replacedSlot] = entry;
+    }
+
+    //how full the table is in permille, worked out from the first slots. Only the entries of the current search count
+    public int getHashfull() {
+        final int sample = Math.min(HASHFULL_SAMPLE, this.entries.length);
+        int used = 0;
+        for (int slot = 0; slot < sample; slot++) {
+            final long entry = this.entries[slot];
+            if (entry != NO_ENTRY && getAge(entry) == this.age) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    //the number of slots of the table
+    public int getSlotCount() {
+        return this.entries.length;
+    }
+
+    //functions used to read an entry
+    public static int getMove(final long entry) {
+        return (int) (entry & 0xFFFFL);
+    }
+
+    public static int getScore(final long entry) {
+        return (int) (entry >>> SCORE_SHIFT);
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int getBound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int getAge(final long entry) {
+        return (int) ((entry >>> AGE_SHIFT) & AGE_MASK);
+    }
+
+    //the first slot of the bucket of a key, the low bits of the key pick the bucket
+    private int getBucket(final long key) {
+        return ((int) key & this.bucketMask) * BUCKET_SIZE;
+    }
+
+    //how much an entry is worth keeping, an entry loses a lot of worth with every search it is older than the current one
+    private int getWorth(final long entry) {
+        if (entry == NO_ENTRY) {
+            return Integer.MIN_VALUE;
+        }
+        final int searchesOld = (this.age - getAge(entry)) & AGE_MASK;
+        return getDepth(entry) - searchesOld * 8;
+    }
+}
@@ -0,0 +1,62 @@
+package chessProject.pgn;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import chessProject.Board;
+import chessProject.FenUtilities;
+//A game read from a pgn file: the tags in front of the game such as the names of the players, the moves of the game in the
+//standard algebraic notation (SAN) they were written in, and the result. The moves are only turned into moves of our boards
+//when the game is replayed, so a file can be read without replaying every game in it.
+public final class PGNGame {
+
+    private final Map<String, String> tags;
+    private final List<String> moves;
+    private final String result;
+
+    PGNGame(final Map<String, String> tags,
+            final List<String> moves,
+            final String result) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.moves = Collections.unmodifiableList(moves);
+        this.result = result;
+    }
+
+    //getter method for the tags of the game in the order they were written
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+
+    //getter method for the value of a tag, null when the game does not have the tag
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    //getter method for the moves of the game in the standard algebraic notation
+    public List<String> getMoves() {
+        return this.moves;
+    }
+
+    //getter method for the result of the game, 1-0, 0-1, 1/2-1/2 or * for a game without a result
+    public String getResult() {
+        return this.result;
+    }
+
+    //the board the game starts from, a game that starts from another position than the standard one gives it in its FEN tag
+    public Board createStartingBoard() {
+        final String fen = getTag("FEN");
+        return fen != null ? FenUtilities.createBoardFromFEN(fen) : Board.createStandardBoard();
+    }
+
+    //overridden toString() method
+    @Override
+    public String toString() {
+        return getTagOrUnknown("White") + " - " + getTagOrUnknown("Black") + " " + this.result + " (" + this.moves.size() + " moves)";
+    }
+
+    private String getTagOrUnknown(final String name) {
+        final String value = getTag(name);
+        return value != null ? value : "?";
+    }
+}
@@ -0,0 +1,183 @@
+package chessProject.pgn;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+//A reader that reads the games of a pgn file one at a time. Only the line being read and the game being put together are
+//kept in memory, so a file with any number of games can be read with the memory of a single game.
+//
+//A game is a section of tags such as
+//  [White "Morphy, Paul"]
+//followed by the move text, which holds the moves with their move numbers and ends with the result of the game. Comments in
+//braces or after a semicolon, variations in parentheses and numeric annotations such as $1 are skipped, as are the ! and ?
+//marks behind a move. A game that has no result is ended by the tags of the next game or by the end of the file.
+public final class PGNReader implements Closeable {
+
+    private final BufferedReader reader;
+    //a tag line of the next game that was read while looking for the end of a game without a result
+    private String pendingLine;
+    //whether the reader is inside a comment in braces and how deep it is inside variations, both can go over several lines
+    private boolean isInComment;
+    private int variationDepth;
+
+    public PGNReader(final Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    //opens a pgn file for reading
+    public static PGNReader open(final Path path) throws IOException {
+        return new PGNReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    //reads the next game of the file, null is returned when there are no more games
+    public PGNGame readGame() throws IOException {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        final List<String> moves = new ArrayList<>();
+        String result = null;
+        boolean isInMoveText = false;
+        this.isInComment = false;
+        this.variationDepth = 0;
+        String line;
+        while (result == null && (line = nextLine()) != null) {
+            if (!this.isInComment && this.variationDepth == 0 && isTagLine(line)) {
+                if (isInMoveText) {
+                    //the tags of the next game, the game read so far had no result
+                    this.pendingLine = line;
+                    break;
+                }
+                readTag(line, tags);
+            } else if (!line.startsWith("%")) {
+                isInMoveText |= !line.isBlank();
+                result = readMoveText(line, moves);
+            }
+        }
+        if (tags.isEmpty() && moves.isEmpty() && result == null) {
+            return null;
+        }
+        return new PGNGame(tags, moves, result != null ? result : "*");
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        if (this.pendingLine != null) {
+            final String line = this.pendingLine;
+            this.pendingLine = null;
+            return line;
+        }
+        return this.reader.readLine();
+    }
+
+    private static boolean isTagLine(final String line) {
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '[';
+            }
+        }
+        return false;
+    }
+
+    //reads a tag line such as [Event "Casual game"], a line that is not a proper tag is skipped
+    private static void readTag(final String line, final Map<String, String> tags) {
+        final int nameStart = line.indexOf('[') + 1;
+        final int valueStart = line.indexOf('"', nameStart);
+        final int valueEnd = line.lastIndexOf('"');
+        if (valueStart < 0 || valueEnd <= valueStart) {
+            return;
+        }
+        final String name = line.substring(nameStart, valueStart).trim();
+        final StringBuilder value = new StringBuilder(valueEnd - valueStart);
+        for (int i = valueStart + 1; i < valueEnd; i++) {
+            final char c = line.charAt(i);
+            if (c == '\\' && i + 1 < valueEnd) {
+                value.append(line.charAt(++i));
+            } else {
+                value.append(c);
+            }
+        }
+        tags.put(name, value.toString());
+    }
+
+    //reads the moves of a line of move text into the list of moves, the result is given back when the line ends the game
+    private String readMoveText(final String line, final List<String> moves) {
+        int index = 0;
+        while (index < line.length()) {
+            final char c = line.charAt(index);
+            if (this.isInComment) {
+                final int commentEnd = line.indexOf('}', index);
+                if (commentEnd < 0) {
+                    return null;
+                }
+                this.isInComment = false;
+                index = commentEnd + 1;
+            } else if (c == '{') {
+                this.isInComment = true;
+                index++;
+            } else if (c == ';') {
+                return null;
+            } else if (c == '(') {
+                this.variationDepth++;
+                index++;
+            } else if (c == ')') {
+                this.variationDepth = Math.max(0, this.variationDepth - 1);
+                index++;
+            } else if (Character.isWhitespace(c)) {
+                index++;
+            } else {
+                final int tokenEnd = findTokenEnd(line, index);
+                if (this.variationDepth == 0) {
+                    final String result = readToken(line, index, tokenEnd, moves);
+                    if (result != null) {
+                        return result;
+                    }
+                }
+                index = tokenEnd;
+            }
+        }
+        return null;
+    }
+
+    private static int findTokenEnd(final String line, final int tokenStart) {
+        int index = tokenStart;
+        while (index < line.length() && !Character.isWhitespace(line.charAt(index)) && "{};()".indexOf(line.charAt(index)) < 0) {
+            index++;
+        }
+        return index;
+    }
+
+    //reads a single token of the move text, the token is a result, a numeric annotation, a move number or a move and a move
+    //number can be written against its move as in 1.e4
+    private static String readToken(final String line, final int tokenStart, final int tokenEnd, final List<String> moves) {
+        final String token = line.substring(tokenStart, tokenEnd);
+        if (token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2") || token.equals("*")) {
+            return token;
+        }
+        if (token.charAt(0) == '$') {
+            return null;
+        }
+        int moveStart = 0;
+        if (Character.isDigit(token.charAt(0)) && token.indexOf('.') > 0) {
+            moveStart = token.lastIndexOf('.') + 1;
+        }
+        int moveEnd = token.length();
+        while (moveEnd > moveStart && (token.charAt(moveEnd - 1) == '!' || token.charAt(moveEnd - 1) == '?')) {
+            moveEnd--;
+        }
+        if (moveEnd > moveStart) {
+            moves.add(token.substring(moveStart, moveEnd));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,422 @@
+package chessProject.pgn;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import chessProject.Board;
+import chessProject.BoardUtils;
+import chessProject.Move;
+import chessProject.Piece.PieceType;
+import chessProject.Player;
+//A utility class that turns the games of pgn files into moves of our boards. A move in the standard algebraic notation (SAN)
+//such as Nbd7, exd5 or e8=Q only gives the piece, the destination and as much of the source as is needed to tell two moves
+//apart, so it is matched against the legal moves of the player to move.
+//
+//Our rules do not generate castling moves, so a game that castles is replayed with the castle moves the player could make on
+//the board. Our rules also only promote a pawn to a queen, so a game with another promotion can not be replayed past it.
+//
+//The games of a file can be read one after the other, or for a bulk import the file can be split at the start of games into
+//one part for every thread, and every thread reads its own part of the file with its own reader.
+public final class PGNUtilities {
+
+    private static final String PIECE_LETTERS = "NBRQK";
+    //every game of a file written by a program starts with its Event tag at the start of a line
+    private static final byte[] GAME_START = "\n[Event ".getBytes(StandardCharsets.US_ASCII);
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    //Constructor for pgn utilities, a runtime exception is used if the class is initiated.
+    private PGNUtilities() {
+        throw new RuntimeException("This class cannot be instantiated!");
+    }
+
+    //the legal move of the player to move that is written as the given SAN move, the null move is given back when there is
+    //no such move or when more than one move fits
+    public static Move createMove(final Board board, final String san) {
+        final Move nullMove = Move.MoveFactory.getNullMove();
+        final Player player = board.currentPlayer();
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (isCastle(san, end, 3)) {
+            return findCastleMove(player, Move.KingSideCastleMove.class);
+        }
+        if (isCastle(san, end, 5)) {
+            return findCastleMove(player, Move.QueenSideCastleMove.class);
+        }
+        if (end < 2) {
+            return nullMove;
+        }
+        int start = 0;
+        PieceType pieceType = PieceType.PAWN;
+        if (PIECE_LETTERS.indexOf(san.charAt(0)) >= 0) {
+            pieceType = getPieceType(san.charAt(0));
+            start = 1;
+        }
+        //the promotion of a pawn is written as e8=Q, some programs leave the = out
+        char promotion = 0;
+        if (pieceType == PieceType.PAWN && PIECE_LETTERS.indexOf(san.charAt(end - 1)) >= 0) {
+            promotion = san.charAt(end - 1);
+            end -= san.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        if (promotion != 0 && promotion != 'Q') {
+            return nullMove;
+        }
+        if (end - start < 2) {
+            return nullMove;
+        }
+        final int destinationFile = san.charAt(end - 2) - 'a';
+        final int destinationRank = san.charAt(end - 1) - '1';
+        if (!isOnBoard(destinationFile, destinationRank)) {
+            return nullMove;
+        }
+        final int destinationCoordinate = getCoordinate(destinationFile, destinationRank);
+        //the characters between the piece and the destination tell which piece moves, the x of a capture and the - of the
+        //long notation do not matter since the move is matched against the board
+        int sourceFile = -1;
+        int sourceRank = -1;
+        for (int i = start; i < end - 2; i++) {
+            final char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                sourceFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                sourceRank = c - '1';
+            } else if (c != 'x' && c != '-' && c != ':') {
+                return nullMove;
+            }
+        }
+        Move found = nullMove;
+        for (final Move move : player.getLegalMoves()) {
+            final int currentCoordinate = move.getCurrentCoordinate();
+            if (move.getDestinationCoordinate() == destinationCoordinate &&
+                move.getMovedPiece().getPieceType() == pieceType &&
+                (sourceFile < 0 || currentCoordinate % BoardUtils.NUM_TILES_PER_ROW == sourceFile) &&
+                (sourceRank < 0 || getRank(currentCoordinate) == sourceRank) &&
+                (move instanceof Move.PawnPromotion) == (promotion != 0) &&
+                player.getLegalityChecker().isLegal(move)) {
+                if (found != nullMove) {
+                    return nullMove;
+                }
+                found = move;
+            }
+        }
+        return found;
+    }
+
+    //replays the moves of a game from its starting board, the replay stops at the first move that can not be made
+    public static ReplayedGame replay(final PGNGame game) {
+        final List<Move> moves = new ArrayList<>(game.getMoves().size());
+        Board board;
+        try {
+            board = game.createStartingBoard();
+        } catch (final RuntimeException e) {
+            return new ReplayedGame(game, moves, Board.createStandardBoard(), e.getMessage());
+        }
+        for (final String san : game.getMoves()) {
+            final Move move = createMove(board, san);
+            if (move == Move.MoveFactory.getNullMove()) {
+                final int moveNumber = moves.size() / 2 + 1;
+                return new ReplayedGame(game, moves, board,
+                        "The move " + moveNumber + (board.currentPlayer().getAlliance().isWhite() ? ". " : "... ") + san +
+                        " is illegal or not supported!");
+            }
+            //the move was checked against the legal moves and the legality checker when it was found
+            board = move.execute();
+            moves.add(move);
+        }
+        return new ReplayedGame(game, moves, board, null);
+    }
+
+    //reads every game of a pgn file one after the other and gives it to the consumer, the number of games is given back
+    public static long readGames(final Path path, final Consumer<PGNGame> consumer) throws IOException {
+        long games = 0;
+        try (PGNReader reader = PGNReader.open(path)) {
+            PGNGame game;
+            while ((game = reader.readGame()) != null) {
+                consumer.accept(game);
+                games++;
+            }
+        }
+        return games;
+    }
+
+    //reads every game of a pgn file with the given number of threads, the file is split at the start of games into one part for
+    //every thread. the consumer is called from all of the threads at the same time, so it has to be safe to use from more than
+    //one thread and it is the place to do the work for every game, such as replaying it. the number of games is given back
+    public static long readGamesInParallel(final Path path,
+                                           final int threadCount,
+                                           final Consumer<PGNGame> consumer) throws IOException {
+        final long[] boundaries = findGameBoundaries(path, Math.max(1, threadCount));
+        final ExecutorService executor = Executors.newFixedThreadPool(boundaries.length - 1);
+        try {
+            final List<Future<Long>> parts = new ArrayList<>();
+            for (int i = 0; i < boundaries.length - 1; i++) {
+                final long partStart = boundaries[i];
+                final long partEnd = boundaries[i + 1];
+                parts.add(executor.submit(() -> readPart(path, partStart, partEnd, consumer)));
+            }
+            long games = 0;
+            for (final Future<Long> part : parts) {
+                games += part.get();
+            }
+            return games;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("The pgn file " + path + " was not read to the end!", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException("The pgn file " + path + " could not be read!", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //reads the games of the part of a file between two game boundaries
+    private static long readPart(final Path path,
+                                 final long partStart,
+                                 final long partEnd,
+                                 final Consumer<PGNGame> consumer) throws IOException {
+        long games = 0;
+        try (FileChannel channel = FileChannel.open(path);
+             PGNReader reader = new PGNReader(new InputStreamReader(
+                     new BoundedInputStream(Channels.newInputStream(channel.position(partStart)), partEnd - partStart),
+                     StandardCharsets.UTF_8))) {
+            PGNGame game;
+            while ((game = reader.readGame()) != null) {
+                consumer.accept(game);
+                games++;
+            }
+        }
+        return games;
+    }
+
+    //splits a file into parts of about the same size that all start at the start of a game, a part is left empty when there is
+    //no game starting in it
+    static long[] findGameBoundaries(final Path path, final int partCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(path)) {
+            final long size = channel.size();
+            final long[] boundaries = new long[partCount + 1];
+            boundaries[partCount] = size;
+            final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            for (int i = 1; i < partCount; i++) {
+                final long position = Math.max(boundaries[i - 1], size / partCount * i);
+                boundaries[i] = findGameStart(channel, buffer, position, size);
+            }
+            return boundaries;
+        }
+    }
+
+    //the position of the first game that starts after the given position, the size of the file when there is none
+    private static long findGameStart(final FileChannel channel,
+                                      final ByteBuffer buffer,
+                                      final long position,
+                                      final long size) throws IOException {
+        long bufferStart = position;
+        while (bufferStart < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, bufferStart);
+            if (read <= 0) {
+                break;
+            }
+            final byte[] bytes = buffer.array();
+            for (int i = 0; i + GAME_START.length <= read; i++) {
+                if (matchesGameStart(bytes, i)) {
+                    //the game starts after the line break
+                    return bufferStart + i + 1;
+                }
+            }
+            if (bufferStart + read >= size) {
+                break;
+            }
+            //the next buffer overlaps this one so a game start across the two buffers is not missed
+            bufferStart += read - GAME_START.length + 1;
+        }
+        return size;
+    }
+
+    private static boolean matchesGameStart(final byte[] bytes, final int index) {
+        for (int i = 0; i < GAME_START.length; i++) {
+            if (bytes[index + i] != GAME_START[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCastle(final String san, final int end, final int length) {
+        if (end != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = san.charAt(i);
+            if (i % 2 == 1 ? c != '-' : c != 'O' && c != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Move findCastleMove(final Player player, final Class<? extends Move> castleMoveClass) {
+        for (final Move move : player.getCastleMoves()) {
+            if (castleMoveClass.isInstance(move)) {
+                return move;
+            }
+        }
+        return Move.MoveFactory.getNullMove();
+    }
+
+    private static PieceType getPieceType(final char letter) {
+        switch (letter) {
+            case 'N':
+                return PieceType.KNIGHT;
+            case 'B':
+                return PieceType.BISHOP;
+            case 'R':
+                return PieceType.ROOK;
+            case 'Q':
+                return PieceType.QUEEN;
+            default:
+                return PieceType.KING;
+        }
+    }
+
+    private static boolean isOnBoard(final int file, final int rank) {
+        return file >= 0 && file < BoardUtils.NUM_TILES_PER_ROW && rank >= 0 && rank < BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    //tile 0 is a8, so the rank counts up from the bottom row of tiles
+    private static int getCoordinate(final int file, final int rank) {
+        return (BoardUtils.NUM_TILES_PER_ROW - 1 - rank) * BoardUtils.NUM_TILES_PER_ROW + file;
+    }
+
+    private static int getRank(final int coordinate) {
+        return BoardUtils.NUM_TILES_PER_ROW - 1 - coordinate / BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    //reads and replays every game of a pgn file and prints how many games were replayed and how long it took, the games are
+    //read with one thread for every core unless a number of threads is given
+    //  java chessProject.pgn.PGNUtilities <file> [threads]
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("usage: PGNUtilities <file> [threads]");
+            return;
+        }
+        final Path path = Paths.get(args[0]);
+        final int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final AtomicLong replayedGames = new AtomicLong();
+        final AtomicLong replayedMoves = new AtomicLong();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        final Consumer<PGNGame> replayer = game -> {
+            final ReplayedGame replayedGame = replay(game);
+            replayedMoves.addAndGet(replayedGame.getMoves().size());
+            if (replayedGame.isComplete()) {
+                replayedGames.incrementAndGet();
+            } else if (errors.size() < 10) {
+                errors.add(game + ": " + replayedGame.getError());
+            }
+        };
+        final long start = System.nanoTime();
+        final long games = threadCount == 1 ? readGames(path, replayer) : readGamesInParallel(path, threadCount, replayer);
+        final long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        for (final String error : errors) {
+            System.out.println(error);
+        }
+        System.out.println(games + " games, " + replayedGames.get() + " replayed to the end, " + replayedMoves.get() + " moves in " +
+                           elapsedMillis + " ms with " + threadCount + " threads (" + games * 1000 / elapsedMillis + " games/s)");
+    }
+
+    //a game that was replayed on our boards, the moves that could be made, the board after the last of them and the reason the
+    //replay stopped when it did not get to the end of the game
+    public static final class ReplayedGame {
+
+        private final PGNGame game;
+        private final List<Move> moves;
+        private final Board board;
+        private final String error;
+
+        ReplayedGame(final PGNGame game,
+                     final List<Move> moves,
+                     final Board board,
+                     final String error) {
+            this.game = game;
+            this.moves = Collections.unmodifiableList(moves);
+            this.board = board;
+            this.error = error;
+        }
+
+        public PGNGame getGame() {
+            return this.game;
+        }
+
+        public List<Move> getMoves() {
+            return this.moves;
+        }
+
+        public Board getBoard() {
+            return this.board;
+        }
+
+        //null when every move of the game was made
+        public String getError() {
+            return this.error;
+        }
+
+        public boolean isComplete() {
+            return this.error == null;
+        }
+    }
+
+    //a stream that stops after a number of bytes, used to read a part of a file
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(final InputStream in, final long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            final int b = super.read();
+            if (b >= 0) {
+                this.remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            final int read = super.read(bytes, offset, (int) Math.min(length, this.remaining));
+            if (read > 0) {
+                this.remaining -= read;
+            }
+            return read;
+        }
+    }
+}